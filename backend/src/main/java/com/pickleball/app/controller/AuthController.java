@@ -7,6 +7,8 @@ import com.pickleball.app.entity.Role;
 import com.pickleball.app.entity.User;
 import com.pickleball.app.repository.UserRepository;
 import com.pickleball.app.security.JwtUtils;
+import com.pickleball.app.service.UserSavedEvent;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -25,15 +27,18 @@ public class AuthController {
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final JwtUtils jwtUtils;
+    private final ApplicationEventPublisher eventPublisher;
 
     public AuthController(UserRepository userRepository,
                           PasswordEncoder passwordEncoder,
                           AuthenticationManager authenticationManager,
-                          JwtUtils jwtUtils) {
+                          JwtUtils jwtUtils,
+                          ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.authenticationManager = authenticationManager;
         this.jwtUtils = jwtUtils;
+        this.eventPublisher = eventPublisher;
     }
 
     @PostMapping("/register")
@@ -48,7 +53,7 @@ public class AuthController {
                 passwordEncoder.encode(request.password()),
                 Role.USER
         );
-        userRepository.save(user);
+        eventPublisher.publishEvent(UserSavedEvent.of(userRepository.save(user)));
 
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(Map.of("message", "User registered successfully"));
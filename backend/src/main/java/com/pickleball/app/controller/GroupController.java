@@ -1,16 +1,27 @@
 package com.pickleball.app.controller;
 
 import com.pickleball.app.dto.AddGuestMemberRequest;
+import com.pickleball.app.dto.AddGuestMembersRequest;
 import com.pickleball.app.dto.AddGroupMemberRequest;
+import com.pickleball.app.dto.BulkAddMembersRequest;
+import com.pickleball.app.dto.BulkAddMembersResponse;
 import com.pickleball.app.dto.CreateGroupRequest;
 import com.pickleball.app.dto.GroupMemberResponse;
 import com.pickleball.app.dto.GroupResponse;
+import com.pickleball.app.dto.LeaderboardEntryResponse;
+import com.pickleball.app.dto.MemberCursor;
+import com.pickleball.app.dto.MemberPageResponse;
+import com.pickleball.app.entity.MatchType;
 import com.pickleball.app.entity.User;
 import com.pickleball.app.service.GroupService;
+import com.pickleball.app.service.LeaderboardService;
+import com.pickleball.app.service.ResourceVersions;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
@@ -19,10 +30,20 @@ import java.util.List;
 @RequestMapping("/api/groups")
 public class GroupController {
 
+    private static final int MAX_LEADERBOARD_SIZE = 100;
+    private static final int MAX_MEMBER_PAGE_SIZE = 500;
+    private static final int MAX_BULK_ADD_SIZE = 1000;
+    private static final int MAX_GUEST_BATCH_SIZE = 500;
+
     private final GroupService groupService;
+    private final LeaderboardService leaderboardService;
+    private final ResourceVersions resourceVersions;
 
-    public GroupController(GroupService groupService) {
+    public GroupController(GroupService groupService, LeaderboardService leaderboardService,
+                           ResourceVersions resourceVersions) {
         this.groupService = groupService;
+        this.leaderboardService = leaderboardService;
+        this.resourceVersions = resourceVersions;
     }
 
     @GetMapping("/my")
@@ -59,6 +80,24 @@ public class GroupController {
         return ResponseEntity.ok(groupService.addMemberByEmail(id, request.email()));
     }
 
+    /**
+     * POST /api/groups/{id}/add-members — add many registered users by email in one call;
+     * reports unknown emails and existing members instead of failing
+     */
+    @PostMapping("/{id}/add-members")
+    public ResponseEntity<BulkAddMembersResponse> addMembers(
+            @PathVariable Long id,
+            @RequestBody BulkAddMembersRequest request) {
+        if (request == null || request.emails() == null || request.emails().isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At least one email is required");
+        }
+        if (request.emails().size() > MAX_BULK_ADD_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + MAX_BULK_ADD_SIZE + " emails per request");
+        }
+        return ResponseEntity.ok(groupService.addMembersByEmail(id, request.emails()));
+    }
+
     /** Add a guest player (name only — no registration required) to a group */
     @PostMapping("/{id}/add-guest")
     public ResponseEntity<GroupMemberResponse> addGuest(
@@ -71,6 +110,25 @@ public class GroupController {
                 .body(groupService.addGuestMember(id, request.displayName()));
     }
 
+    /** POST /api/groups/{id}/add-guests — add a roster of guest players in one call */
+    @PostMapping("/{id}/add-guests")
+    public ResponseEntity<List<GroupMemberResponse>> addGuests(
+            @PathVariable Long id,
+            @RequestBody AddGuestMembersRequest request) {
+        if (request == null || request.displayNames() == null || request.displayNames().isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At least one display name is required");
+        }
+        if (request.displayNames().size() > MAX_GUEST_BATCH_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + MAX_GUEST_BATCH_SIZE + " guests per request");
+        }
+        if (request.displayNames().stream().anyMatch(n -> n == null || n.isBlank())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Display names must not be blank");
+        }
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(groupService.addGuestMembers(id, request.displayNames()));
+    }
+
     @DeleteMapping("/{groupId}/members/{userId}")
     public ResponseEntity<Void> removeMember(
             @PathVariable Long groupId,
@@ -80,9 +138,35 @@ public class GroupController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * GET /api/groups/{id}/members?cursor=&size= — members ordered by email, a page at a time;
+     * honours If-None-Match, answering 304 without loading the members
+     */
     @GetMapping("/{id}/members")
-    public ResponseEntity<List<GroupMemberResponse>> getMembers(@PathVariable Long id) {
-        return ResponseEntity.ok(groupService.getMembers(id));
+    public ResponseEntity<MemberPageResponse> getMembers(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int size,
+            WebRequest webRequest) {
+
+        if (size < 1 || size > MAX_MEMBER_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "size must be between 1 and " + MAX_MEMBER_PAGE_SIZE);
+        }
+        MemberCursor after = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                after = MemberCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+            }
+        }
+
+        String etag = resourceVersions.memberListEtag(id);
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CacheControl.noCache()).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache())
+                .body(groupService.getMembers(id, after, size));
     }
 
     @GetMapping("/{groupId}/search-members")
@@ -91,4 +175,21 @@ public class GroupController {
             @RequestParam String query) {
         return ResponseEntity.ok(groupService.searchGroupMembers(groupId, query));
     }
+
+    /** GET /api/groups/{id}/leaderboard — top players by rating (per match type) or win rate */
+    @GetMapping("/{id}/leaderboard")
+    public ResponseEntity<List<LeaderboardEntryResponse>> getLeaderboard(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = LeaderboardService.METRIC_RATING) String metric,
+            @RequestParam(defaultValue = "DOUBLES") MatchType matchType,
+            @RequestParam(defaultValue = "10") int limit) {
+        if (!LeaderboardService.METRIC_RATING.equals(metric) && !LeaderboardService.METRIC_WIN_RATE.equals(metric)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "metric must be 'rating' or 'winRate'");
+        }
+        if (limit < 1 || limit > MAX_LEADERBOARD_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "limit must be between 1 and " + MAX_LEADERBOARD_SIZE);
+        }
+        return ResponseEntity.ok(leaderboardService.getLeaderboard(id, metric, matchType, limit));
+    }
 }
@@ -1,49 +1,88 @@
 package com.pickleball.app.controller;
 
+import com.pickleball.app.dto.BatchScoreItem;
+import com.pickleball.app.dto.BatchScoreResult;
 import com.pickleball.app.dto.CreateMatchRequest;
-import com.pickleball.app.entity.Group;
-import com.pickleball.app.entity.Match;
-import com.pickleball.app.entity.MatchType;
+import com.pickleball.app.dto.MatchCursor;
+import com.pickleball.app.dto.MatchImportResponse;
+import com.pickleball.app.dto.MatchPageResponse;
+import com.pickleball.app.dto.MatchResponse;
+import com.pickleball.app.dto.UpdateScoreRequest;
 import com.pickleball.app.entity.User;
-import com.pickleball.app.repository.GroupRepository;
-import com.pickleball.app.repository.MatchRepository;
-import com.pickleball.app.repository.UserRepository;
+import com.pickleball.app.service.MatchExportService;
+import com.pickleball.app.service.MatchImportService;
+import com.pickleball.app.service.MatchScore;
+import com.pickleball.app.service.MatchService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 @RestController
 @RequestMapping("/api/matches")
 public class MatchController {
 
-    private final MatchRepository matchRepository;
-    private final GroupRepository groupRepository;
-    private final UserRepository userRepository;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int MAX_BATCH_SIZE = 200;
 
-    public MatchController(MatchRepository matchRepository,
-                           GroupRepository groupRepository,
-                           UserRepository userRepository) {
-        this.matchRepository = matchRepository;
-        this.groupRepository = groupRepository;
-        this.userRepository = userRepository;
+    private final MatchService matchService;
+    private final MatchImportService matchImportService;
+    private final MatchExportService matchExportService;
+
+    public MatchController(MatchService matchService,
+                           MatchImportService matchImportService,
+                           MatchExportService matchExportService) {
+        this.matchService = matchService;
+        this.matchImportService = matchImportService;
+        this.matchExportService = matchExportService;
     }
 
+    /**
+     * GET /api/matches — newest-first match history for the caller's groups, keyset-paginated.
+     * Optional filters: groupId, playerId and a [from, to) matchDate range.
+     */
     @GetMapping
     @PreAuthorize("isAuthenticated()")
-    public List<Match> getAllMatches() {
-        return matchRepository.findAll();
+    public ResponseEntity<MatchPageResponse> getMatches(
+            @AuthenticationPrincipal User currentUser,
+            @RequestParam(required = false) Long groupId,
+            @RequestParam(required = false) Long playerId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        MatchCursor after = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                after = MatchCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+            }
+        }
+
+        return ResponseEntity.ok(matchService.getHistory(
+                currentUser.getId(), groupId, playerId, from, to, after, size));
     }
 
     @PostMapping
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<Match> createMatch(@RequestBody CreateMatchRequest request) {
+    public ResponseEntity<MatchResponse> createMatch(@RequestBody CreateMatchRequest request) {
         if (request == null
                 || request.groupId() == null
                 || request.matchType() == null
@@ -52,59 +91,84 @@ public class MatchController {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "groupId, matchType, teamOneUserIds and teamTwoUserIds are required");
         }
 
-        Group group = groupRepository.findById(request.groupId())
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Group not found"));
+        return ResponseEntity.status(HttpStatus.CREATED).body(matchService.createMatch(request));
+    }
 
-        int expectedTeamSize = request.matchType() == MatchType.SINGLES ? 1 : 2;
-        if (request.teamOneUserIds().size() != expectedTeamSize
-                || request.teamTwoUserIds().size() != expectedTeamSize) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                    "Invalid team size for " + request.matchType().name().toLowerCase());
+    @PutMapping("/{id}")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<MatchResponse> updateScore(@PathVariable Long id, @RequestBody UpdateScoreRequest request) {
+        MatchScore score = null;
+        if (request != null) {
+            score = request.teamOneScore() != null && request.teamTwoScore() != null
+                    ? new MatchScore(request.teamOneScore(), request.teamTwoScore())
+                    : MatchScore.parse(request.score());
         }
-
-        Set<Long> uniquePlayerIds = new HashSet<>();
-        uniquePlayerIds.addAll(request.teamOneUserIds());
-        uniquePlayerIds.addAll(request.teamTwoUserIds());
-
-        int requiredUniquePlayers = expectedTeamSize * 2;
-        if (uniquePlayerIds.size() != requiredUniquePlayers) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Each player must be unique in a match");
+        if (score == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "teamOneScore and teamTwoScore, or a score like \"11-7\", are required");
         }
+        return ResponseEntity.ok(matchService.updateScore(id, score));
+    }
 
-        Set<Long> groupMemberIds = group.getMembers().stream().map(User::getId).collect(java.util.stream.Collectors.toSet());
-        if (!groupMemberIds.containsAll(uniquePlayerIds)) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "All selected users must be members of the group");
+    /**
+     * PUT /api/matches/scores — record many results at once, e.g. a whole round; one transaction,
+     * one result per item in request order
+     */
+    @PutMapping("/scores")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<List<BatchScoreResult>> updateScores(@RequestBody List<BatchScoreItem> items) {
+        if (items == null || items.isEmpty() || items.size() > MAX_BATCH_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Between 1 and " + MAX_BATCH_SIZE + " score updates are required");
         }
+        return ResponseEntity.ok(matchService.updateScores(items));
+    }
 
-        List<User> teamOne = userRepository.findAllById(request.teamOneUserIds());
-        List<User> teamTwo = userRepository.findAllById(request.teamTwoUserIds());
-
-        if (teamOne.size() != expectedTeamSize || teamTwo.size() != expectedTeamSize) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "One or more selected users were not found");
+    /**
+     * POST /api/matches/import?groupId= — bulk import from a CSV or NDJSON request body.
+     * The format comes from the {@code format} parameter, else from the Content-Type (JSON means NDJSON).
+     */
+    @PostMapping("/import")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<MatchImportResponse> importMatches(
+            @AuthenticationPrincipal User currentUser,
+            @RequestParam Long groupId,
+            @RequestParam(required = false) String format,
+            HttpServletRequest request) throws IOException {
+        if (format == null) {
+            String contentType = request.getContentType();
+            format = contentType != null && contentType.contains("json")
+                    ? MatchImportService.FORMAT_NDJSON
+                    : MatchImportService.FORMAT_CSV;
         }
-
-        Match match = new Match();
-        match.setGroup(group);
-        match.setMatchType(request.matchType());
-        match.setTeamOne(teamOne);
-        match.setTeamTwo(teamTwo);
-        match.setMatchDate(LocalDateTime.now());
-
-        if (request.teamOneScore() != null && request.teamTwoScore() != null) {
-            match.setScore(request.teamOneScore() + "-" + request.teamTwoScore());
+        if (!MatchImportService.FORMAT_CSV.equals(format) && !MatchImportService.FORMAT_NDJSON.equals(format)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "format must be 'csv' or 'ndjson'");
         }
-
-        Match saved = matchRepository.save(match);
-        return ResponseEntity.status(HttpStatus.CREATED).body(saved);
+        return ResponseEntity.ok(matchImportService.importMatches(
+                groupId, currentUser, format, request.getInputStream()));
     }
 
-    @PutMapping("/{id}")
+    /**
+     * GET /api/matches/export?groupId= — the group's full history, oldest first, streamed as CSV
+     * (default) or NDJSON. Optional [from, to) matchDate range.
+     */
+    @GetMapping("/export")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<Match> updateScore(@PathVariable Long id, @RequestBody Match updatedMatch) {
-        Match existing = matchRepository.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Match not found with id: " + id));
-
-        existing.setScore(updatedMatch.getScore());
-        return ResponseEntity.ok(matchRepository.save(existing));
+    public ResponseEntity<StreamingResponseBody> exportMatches(
+            @AuthenticationPrincipal User currentUser,
+            @RequestParam Long groupId,
+            @RequestParam(defaultValue = MatchExportService.FORMAT_CSV) String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        boolean csv = MatchExportService.FORMAT_CSV.equals(format);
+        if (!csv && !MatchExportService.FORMAT_NDJSON.equals(format)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "format must be 'csv' or 'ndjson'");
+        }
+        StreamingResponseBody body = matchExportService.export(groupId, currentUser, format, from, to);
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv") : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"group-" + groupId + "-matches." + format + "\"")
+                .body(body);
     }
 }
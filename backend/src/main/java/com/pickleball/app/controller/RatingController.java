@@ -0,0 +1,43 @@
+package com.pickleball.app.controller;
+
+import com.pickleball.app.dto.PlayerRatingResponse;
+import com.pickleball.app.entity.Role;
+import com.pickleball.app.entity.User;
+import com.pickleball.app.service.RatingService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/ratings")
+public class RatingController {
+
+    private final RatingService ratingService;
+
+    public RatingController(RatingService ratingService) {
+        this.ratingService = ratingService;
+    }
+
+    /** GET /api/ratings/{userId} — current singles and doubles ratings for a player */
+    @GetMapping("/{userId}")
+    public ResponseEntity<PlayerRatingResponse> getRating(@PathVariable Long userId) {
+        return ResponseEntity.ok(ratingService.getRating(userId));
+    }
+
+    /**
+     * POST /api/ratings/replay — queue a recompute of all ratings from match history (admin only).
+     * Returns 202 at once; the replay runs in the background and is coalesced with any already queued.
+     */
+    @PostMapping("/replay")
+    public ResponseEntity<Map<String, String>> replay(@AuthenticationPrincipal User currentUser) {
+        if (currentUser.getRole() != Role.ADMIN) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only admins can replay ratings");
+        }
+        ratingService.requestReplay();
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(Map.of("message", "Rating replay queued"));
+    }
+}
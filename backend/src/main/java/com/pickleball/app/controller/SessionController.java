@@ -1,39 +1,61 @@
 package com.pickleball.app.controller;
 
 import com.pickleball.app.dto.*;
-import com.pickleball.app.entity.GuestPlayer;
 import com.pickleball.app.entity.Session;
 import com.pickleball.app.entity.User;
-import com.pickleball.app.repository.GuestPlayerRepository;
-import com.pickleball.app.repository.GroupRepository;
 import com.pickleball.app.repository.SessionRepository;
+import com.pickleball.app.service.CourtRotationService;
+import com.pickleball.app.service.SessionCache;
+import com.pickleball.app.service.SessionCodePool;
+import com.pickleball.app.service.SessionEventBroadcaster;
+import com.pickleball.app.service.SessionJoinBatcher;
+import com.pickleball.app.service.SessionScheduleService;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.security.SecureRandom;
-import java.util.ArrayList;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/sessions")
 public class SessionController {
 
-    private static final String CHARS = "ABCDEFGHJKLMNPQRSTUVWXYZ23456789";
     private static final SecureRandom RANDOM = new SecureRandom();
 
+    private static final int MAX_ROUNDS = 50;
+    private static final int MAX_COURTS = 100;
+
     private final SessionRepository sessionRepository;
-    private final GuestPlayerRepository guestPlayerRepository;
-    private final GroupRepository groupRepository;
+    private final SessionScheduleService sessionScheduleService;
+    private final SessionEventBroadcaster sessionEventBroadcaster;
+    private final SessionCache sessionCache;
+    private final SessionJoinBatcher sessionJoinBatcher;
+    private final SessionCodePool sessionCodePool;
+    private final CourtRotationService courtRotationService;
 
     public SessionController(SessionRepository sessionRepository,
-                             GuestPlayerRepository guestPlayerRepository,
-                             GroupRepository groupRepository) {
+                             SessionScheduleService sessionScheduleService,
+                             SessionEventBroadcaster sessionEventBroadcaster,
+                             SessionCache sessionCache,
+                             SessionJoinBatcher sessionJoinBatcher,
+                             SessionCodePool sessionCodePool,
+                             CourtRotationService courtRotationService) {
         this.sessionRepository = sessionRepository;
-        this.guestPlayerRepository = guestPlayerRepository;
-        this.groupRepository = groupRepository;
+        this.sessionScheduleService = sessionScheduleService;
+        this.sessionEventBroadcaster = sessionEventBroadcaster;
+        this.sessionCache = sessionCache;
+        this.sessionJoinBatcher = sessionJoinBatcher;
+        this.sessionCodePool = sessionCodePool;
+        this.courtRotationService = courtRotationService;
     }
 
     /** POST /api/sessions — create a new session (requires auth) */
@@ -46,45 +68,38 @@ public class SessionController {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Session name is required");
         }
 
-        String code = generateUniqueCode();
-        Session session = new Session(code, request.name().trim(), request.groupId(), currentUser.getId());
-        Session saved = sessionRepository.save(session);
-        return ResponseEntity.status(HttpStatus.CREATED).body(toResponse(saved, 0));
+        Session saved;
+        try {
+            saved = sessionRepository.save(newSession(request, currentUser));
+        } catch (DataIntegrityViolationException e) {
+            // Another instance handed out the same pooled code first
+            saved = sessionRepository.save(newSession(request, currentUser));
+        }
+        return ResponseEntity.status(HttpStatus.CREATED).body(toResponse(saved));
     }
 
     /** GET /api/sessions/my — sessions created by the current user */
     @GetMapping("/my")
     public ResponseEntity<List<SessionResponse>> getMySessions(@AuthenticationPrincipal User currentUser) {
-        List<Session> sessions = sessionRepository.findAllByCreatedById(currentUser.getId());
-        List<SessionResponse> result = sessions.stream()
-                .map(s -> {
-                    int count = guestPlayerRepository.findAllBySessionId(s.getId()).size();
-                    return toResponse(s, count);
-                })
-                .toList();
-        return ResponseEntity.ok(result);
+        return ResponseEntity.ok(sessionRepository.findSummariesByCreatedById(currentUser.getId()));
     }
 
     /** GET /api/sessions/by-group/{groupId} — sessions for a group */
     @GetMapping("/by-group/{groupId}")
     public ResponseEntity<List<SessionResponse>> getByGroup(@PathVariable Long groupId,
                                                              @AuthenticationPrincipal User currentUser) {
-        List<Session> sessions = sessionRepository.findAllByGroupId(groupId);
-        List<SessionResponse> result = sessions.stream()
-                .map(s -> {
-                    int count = guestPlayerRepository.findAllBySessionId(s.getId()).size();
-                    return toResponse(s, count);
-                })
-                .toList();
-        return ResponseEntity.ok(result);
+        return ResponseEntity.ok(sessionRepository.findSummariesByGroupId(groupId));
     }
 
-    /** GET /api/sessions/{code} — get session details (PUBLIC — no auth needed) */
+    /** GET /api/sessions/{code} — get session details (PUBLIC — no auth needed; honours If-None-Match) */
     @GetMapping("/{code}")
-    public ResponseEntity<SessionResponse> getSession(@PathVariable String code) {
-        Session session = findByCode(code);
-        int count = guestPlayerRepository.findAllBySessionId(session.getId()).size();
-        return ResponseEntity.ok(toResponse(session, count));
+    public ResponseEntity<SessionResponse> getSession(@PathVariable String code, WebRequest webRequest) {
+        SessionCache.CachedSession session = sessionCache.get(code);
+        String etag = session.etag();
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CacheControl.noCache()).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(session.summary());
     }
 
     /** POST /api/sessions/{code}/join — join by entering your name (PUBLIC) */
@@ -97,26 +112,46 @@ public class SessionController {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Player name is required");
         }
 
-        Session session = findByCode(code);
-        if ("CLOSED".equals(session.getStatus())) {
+        SessionCache.CachedSession session = sessionCache.get(code);
+        if (session.isClosed()) {
             throw new ResponseStatusException(HttpStatus.GONE, "This session is closed");
         }
 
-        GuestPlayer guest = new GuestPlayer(session.getId(), request.playerName().trim());
-        GuestPlayer saved = guestPlayerRepository.save(guest);
-        return ResponseEntity.status(HttpStatus.CREATED)
-                .body(new SessionParticipantResponse(saved.getId(), saved.getDisplayName(), "GUEST"));
+        String sessionCode = session.summary().code();
+        String displayName = request.playerName().trim();
+        long id = sessionJoinBatcher.join(session.summary().id(), displayName);
+        SessionParticipantResponse participant = new SessionParticipantResponse(id, displayName, "GUEST");
+        sessionCache.participantJoined(sessionCode, participant);
+        sessionEventBroadcaster.publish(sessionCode, SessionEventBroadcaster.EVENT_JOIN, participant);
+        courtRotationService.participantJoined(session.summary().id(), participant).ifPresent(rotation ->
+                sessionEventBroadcaster.publish(sessionCode, SessionEventBroadcaster.EVENT_COURTS, rotation));
+        return ResponseEntity.status(HttpStatus.CREATED).body(participant);
     }
 
-    /** GET /api/sessions/{code}/participants — all participants in this session (PUBLIC) */
+    /** GET /api/sessions/{code}/participants — all participants in this session (PUBLIC; honours If-None-Match) */
     @GetMapping("/{code}/participants")
-    public ResponseEntity<List<SessionParticipantResponse>> getParticipants(@PathVariable String code) {
-        Session session = findByCode(code);
-        List<GuestPlayer> guests = guestPlayerRepository.findAllBySessionId(session.getId());
-        List<SessionParticipantResponse> result = guests.stream()
-                .map(g -> new SessionParticipantResponse(g.getId(), g.getDisplayName(), "GUEST"))
-                .toList();
-        return ResponseEntity.ok(result);
+    public ResponseEntity<List<SessionParticipantResponse>> getParticipants(@PathVariable String code,
+                                                                            WebRequest webRequest) {
+        SessionCache.CachedSession session = sessionCache.get(code);
+        String etag = session.etag();
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CacheControl.noCache()).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(session.participants());
+    }
+
+    /**
+     * GET /api/sessions/{code}/events — Server-Sent Events stream (PUBLIC). Sends the current
+     * participants once, then a "join" event per new participant and a final "close" event.
+     */
+    @GetMapping(value = "/{code}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@PathVariable String code) {
+        SessionCache.CachedSession session = sessionCache.get(code);
+        if (session.isClosed()) {
+            throw new ResponseStatusException(HttpStatus.GONE, "This session is closed");
+        }
+        return sessionEventBroadcaster.subscribe(session.summary().code(),
+                SessionEventBroadcaster.EVENT_PARTICIPANTS, session.participants());
     }
 
     /** PUT /api/sessions/{code}/close — close the session (owner only) */
@@ -129,9 +164,83 @@ public class SessionController {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only the session creator can close it");
         }
         session.setStatus("CLOSED");
+        session.setClosedAt(LocalDateTime.now());
         Session saved = sessionRepository.save(session);
-        int count = guestPlayerRepository.findAllBySessionId(saved.getId()).size();
-        return ResponseEntity.ok(toResponse(saved, count));
+        SessionResponse response = toResponse(saved);
+        sessionCache.sessionUpdated(response);
+        courtRotationService.discard(saved.getId());
+        sessionEventBroadcaster.publishAndComplete(saved.getCode(), SessionEventBroadcaster.EVENT_CLOSE, response);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * POST /api/sessions/{code}/rounds — generate a multi-round doubles schedule balancing team
+     * ratings, repeat partners/opponents and sit-outs (owner only)
+     */
+    @PostMapping("/{code}/rounds")
+    public ResponseEntity<SessionScheduleResponse> generateRounds(
+            @PathVariable String code,
+            @RequestBody GenerateRoundsRequest request,
+            @AuthenticationPrincipal User currentUser) {
+        if (request == null || request.rounds() == null || request.courts() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "rounds and courts are required");
+        }
+        if (request.rounds() < 1 || request.rounds() > MAX_ROUNDS
+                || request.courts() < 1 || request.courts() > MAX_COURTS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "rounds must be 1-" + MAX_ROUNDS + " and courts 1-" + MAX_COURTS);
+        }
+        Session session = findByCode(code);
+        if (!session.getCreatedById().equals(currentUser.getId())) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only the session creator can schedule rounds");
+        }
+        return ResponseEntity.ok(sessionScheduleService.generate(session,
+                request.rounds(), request.courts(),
+                !Boolean.FALSE.equals(request.includeGroupMembers()),
+                request.seed() != null ? request.seed() : RANDOM.nextLong()));
+    }
+
+    /** POST /api/sessions/{code}/courts — start the court rotation, or change its number of courts (owner only) */
+    @PostMapping("/{code}/courts")
+    public ResponseEntity<CourtRotationResponse> startCourtRotation(
+            @PathVariable String code,
+            @RequestBody StartCourtRotationRequest request,
+            @AuthenticationPrincipal User currentUser) {
+        if (request == null || request.courts() == null || request.courts() < 1 || request.courts() > MAX_COURTS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "courts must be 1-" + MAX_COURTS);
+        }
+        Session session = findByCode(code);
+        if (!session.getCreatedById().equals(currentUser.getId())) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only the session creator can manage courts");
+        }
+        if ("CLOSED".equals(session.getStatus())) {
+            throw new ResponseStatusException(HttpStatus.GONE, "This session is closed");
+        }
+        CourtRotationResponse rotation = courtRotationService.start(session.getId(), request.courts(),
+                sessionCache.get(session.getCode()).participants());
+        sessionEventBroadcaster.publish(session.getCode(), SessionEventBroadcaster.EVENT_COURTS, rotation);
+        return ResponseEntity.ok(rotation);
+    }
+
+    /** GET /api/sessions/{code}/courts — who is on each court and who is up next (PUBLIC) */
+    @GetMapping("/{code}/courts")
+    public ResponseEntity<CourtRotationResponse> getCourtRotation(@PathVariable String code) {
+        return ResponseEntity.ok(courtRotationService.get(sessionCache.get(code).summary().id()));
+    }
+
+    /** POST /api/sessions/{code}/courts/{court}/free — a game finished; the next four players take the court (owner only) */
+    @PostMapping("/{code}/courts/{court}/free")
+    public ResponseEntity<CourtRotationResponse> freeCourt(
+            @PathVariable String code,
+            @PathVariable int court,
+            @AuthenticationPrincipal User currentUser) {
+        Session session = findByCode(code);
+        if (!session.getCreatedById().equals(currentUser.getId())) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only the session creator can manage courts");
+        }
+        CourtRotationResponse rotation = courtRotationService.freeCourt(session.getId(), court);
+        sessionEventBroadcaster.publish(session.getCode(), SessionEventBroadcaster.EVENT_COURTS, rotation);
+        return ResponseEntity.ok(rotation);
     }
 
     // ── helpers ──────────────────────────────────────────────────────────────
@@ -141,35 +250,12 @@ public class SessionController {
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Session not found"));
     }
 
-    private String generateUniqueCode() {
-        String code;
-        int attempts = 0;
-        do {
-            code = randomCode();
-            if (++attempts > 20) throw new IllegalStateException("Could not generate a unique code");
-        } while (sessionRepository.existsByCode(code));
-        return code;
-    }
-
-    private String randomCode() {
-        StringBuilder sb = new StringBuilder(8);
-        // Format: XXXX-XXXX  e.g. PCKL-7B2Q
-        for (int i = 0; i < 4; i++) sb.append(CHARS.charAt(RANDOM.nextInt(CHARS.length())));
-        sb.append('-');
-        for (int i = 0; i < 4; i++) sb.append(CHARS.charAt(RANDOM.nextInt(CHARS.length())));
-        return sb.toString();
+    private Session newSession(CreateSessionRequest request, User currentUser) {
+        return new Session(sessionCodePool.take(), request.name().trim(), request.groupId(), currentUser.getId());
     }
 
-    private SessionResponse toResponse(Session s, int participantCount) {
-        String groupName = null;
-        if (s.getGroupId() != null) {
-            groupName = groupRepository.findById(s.getGroupId())
-                    .map(g -> g.getName())
-                    .orElse(null);
-        }
-        return new SessionResponse(
-                s.getId(), s.getCode(), s.getName(),
-                s.getGroupId(), groupName,
-                s.getStatus(), s.getCreatedAt(), participantCount);
+    private SessionResponse toResponse(Session s) {
+        return sessionRepository.findSummaryById(s.getId())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Session not found"));
     }
 }
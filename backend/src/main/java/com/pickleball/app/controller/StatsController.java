@@ -0,0 +1,70 @@
+package com.pickleball.app.controller;
+
+import com.pickleball.app.dto.HeadToHeadResponse;
+import com.pickleball.app.dto.PlayerStatsResponse;
+import com.pickleball.app.dto.StatsRebuildResponse;
+import com.pickleball.app.entity.Role;
+import com.pickleball.app.entity.User;
+import com.pickleball.app.service.PairStatsService;
+import com.pickleball.app.service.StatsService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/stats")
+public class StatsController {
+
+    private final StatsService statsService;
+    private final PairStatsService pairStatsService;
+
+    public StatsController(StatsService statsService, PairStatsService pairStatsService) {
+        this.statsService = statsService;
+        this.pairStatsService = pairStatsService;
+    }
+
+    /** GET /api/stats/players/{userId}?groupId= — one player's record, in a group or overall */
+    @GetMapping("/players/{userId}")
+    public ResponseEntity<PlayerStatsResponse> getPlayerStats(
+            @PathVariable Long userId,
+            @RequestParam(required = false) Long groupId) {
+        return ResponseEntity.ok(statsService.getPlayerStats(userId, groupId));
+    }
+
+    /** GET /api/stats/groups/{groupId} — every player's record in a group, best first */
+    @GetMapping("/groups/{groupId}")
+    public ResponseEntity<List<PlayerStatsResponse>> getGroupStats(@PathVariable Long groupId) {
+        return ResponseEntity.ok(statsService.getGroupStats(groupId));
+    }
+
+    /** POST /api/stats/rebuild — recompute the materialized stats from match history (admin only) */
+    @PostMapping("/rebuild")
+    public ResponseEntity<StatsRebuildResponse> rebuild(@AuthenticationPrincipal User currentUser) {
+        if (currentUser.getRole() != Role.ADMIN) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only admins can rebuild stats");
+        }
+        return ResponseEntity.ok(statsService.rebuildAll());
+    }
+
+    /** GET /api/stats/head-to-head?playerId=&otherId= — record against and alongside another player */
+    @GetMapping("/head-to-head")
+    public ResponseEntity<HeadToHeadResponse> getHeadToHead(
+            @RequestParam Long playerId,
+            @RequestParam Long otherId) {
+        return ResponseEntity.ok(pairStatsService.getHeadToHead(playerId, otherId));
+    }
+
+    /** POST /api/stats/pairs/rebuild — recompute head-to-head records from match history (admin only) */
+    @PostMapping("/pairs/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuildPairs(@AuthenticationPrincipal User currentUser) {
+        if (currentUser.getRole() != Role.ADMIN) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only admins can rebuild stats");
+        }
+        return ResponseEntity.ok(Map.of("rowsWritten", pairStatsService.rebuildAll()));
+    }
+}
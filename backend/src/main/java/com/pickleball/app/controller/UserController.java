@@ -6,10 +6,18 @@ import com.pickleball.app.dto.UpdateProfileRequest;
 import com.pickleball.app.dto.UserProfileResponse;
 import com.pickleball.app.entity.User;
 import com.pickleball.app.repository.UserRepository;
+import com.pickleball.app.security.PrincipalCache;
+import com.pickleball.app.service.LeaderboardService;
+import com.pickleball.app.service.ResourceVersions;
+import com.pickleball.app.service.UserSavedEvent;
+import com.pickleball.app.service.UserSearchIndex;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
 import java.util.Map;
@@ -20,10 +28,23 @@ public class UserController {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
-
-    public UserController(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    private final LeaderboardService leaderboardService;
+    private final ResourceVersions resourceVersions;
+    private final UserSearchIndex userSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PrincipalCache principalCache;
+
+    public UserController(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                          LeaderboardService leaderboardService, ResourceVersions resourceVersions,
+                          UserSearchIndex userSearchIndex, ApplicationEventPublisher eventPublisher,
+                          PrincipalCache principalCache) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.leaderboardService = leaderboardService;
+        this.resourceVersions = resourceVersions;
+        this.userSearchIndex = userSearchIndex;
+        this.eventPublisher = eventPublisher;
+        this.principalCache = principalCache;
     }
 
     /** GET /api/user/search?query= — search all registered users by name or email */
@@ -32,11 +53,7 @@ public class UserController {
         if (query == null || query.isBlank() || query.length() < 2) {
             return ResponseEntity.ok(List.of());
         }
-        List<GroupMemberResponse> results = userRepository.searchUsers(query.trim()).stream()
-                .filter(u -> u.getRole() != com.pickleball.app.entity.Role.GUEST)
-                .map(u -> new GroupMemberResponse(u.getId(), u.getEmail(), u.getName(), u.getPhotoUrl(), false))
-                .toList();
-        return ResponseEntity.ok(results);
+        return ResponseEntity.ok(userSearchIndex.searchUsers(query, UserSearchIndex.DEFAULT_LIMIT));
     }
 
     /** GET /api/user/profile — return the current user's profile */
@@ -48,12 +65,18 @@ public class UserController {
     /** PUT /api/user/profile — update name and/or photo URL (email is immutable) */
     @PutMapping("/profile")
     public ResponseEntity<UserProfileResponse> updateProfile(
-            @AuthenticationPrincipal User user,
+            @AuthenticationPrincipal User principal,
             @RequestBody UpdateProfileRequest request) {
 
+        principalCache.evict(principal.getEmail());
+        User user = loadForUpdate(principal);
         user.setName(request.name() != null ? request.name().trim() : null);
         user.setPhotoUrl(request.photoUrl() != null ? request.photoUrl().trim() : null);
         userRepository.save(user);
+        principalCache.evict(user.getEmail());
+        leaderboardService.onPlayerRenamed(user.getId(), user.getName() != null ? user.getName() : user.getEmail());
+        resourceVersions.bumpUsers();
+        eventPublisher.publishEvent(UserSavedEvent.of(user));
 
         return ResponseEntity.ok(toResponse(user));
     }
@@ -61,7 +84,7 @@ public class UserController {
     /** PUT /api/user/password — change password (current password required) */
     @PutMapping("/password")
     public ResponseEntity<?> changePassword(
-            @AuthenticationPrincipal User user,
+            @AuthenticationPrincipal User principal,
             @RequestBody ChangePasswordRequest request) {
 
         if (request.currentPassword() == null || request.newPassword() == null
@@ -70,6 +93,8 @@ public class UserController {
                     .body(Map.of("error", "Current and new password are required"));
         }
 
+        principalCache.evict(principal.getEmail());
+        User user = loadForUpdate(principal);
         if (!passwordEncoder.matches(request.currentPassword(), user.getPassword())) {
             return ResponseEntity.badRequest()
                     .body(Map.of("error", "Current password is incorrect"));
@@ -82,10 +107,20 @@ public class UserController {
 
         user.setPassword(passwordEncoder.encode(request.newPassword()));
         userRepository.save(user);
+        principalCache.evict(user.getEmail());
 
         return ResponseEntity.ok(Map.of("message", "Password updated successfully"));
     }
 
+    /**
+     * A fresh copy of the caller's row to mutate. The authenticated principal is shared through
+     * {@link PrincipalCache} with concurrent requests, so it is never written to directly.
+     */
+    private User loadForUpdate(User principal) {
+        return userRepository.findById(principal.getId())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+    }
+
     private UserProfileResponse toResponse(User user) {
         return new UserProfileResponse(
                 user.getId(),
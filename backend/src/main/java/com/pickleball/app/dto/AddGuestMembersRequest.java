@@ -0,0 +1,5 @@
+package com.pickleball.app.dto;
+
+import java.util.List;
+
+public record AddGuestMembersRequest(List<String> displayNames) {}
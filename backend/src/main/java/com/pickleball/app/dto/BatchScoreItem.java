@@ -0,0 +1,3 @@
+package com.pickleball.app.dto;
+
+public record BatchScoreItem(Long matchId, Integer teamOneScore, Integer teamTwoScore) {}
@@ -0,0 +1,12 @@
+package com.pickleball.app.dto;
+
+/**
+ * Outcome of one item of a batch score update. {@code status} is UPDATED, UNCHANGED, NOT_FOUND or
+ * INVALID; {@code match} is present for the first two, {@code error} for the last two.
+ */
+public record BatchScoreResult(
+        Long matchId,
+        String status,
+        String error,
+        MatchResponse match
+) {}
@@ -0,0 +1,6 @@
+package com.pickleball.app.dto;
+
+import java.util.List;
+
+public record BulkAddMembersRequest(List<String> emails) {
+}
@@ -0,0 +1,10 @@
+package com.pickleball.app.dto;
+
+import java.util.List;
+
+/** Outcome of a bulk add; emails are reported normalised (trimmed, lower-case) and de-duplicated. */
+public record BulkAddMembersResponse(
+        List<GroupMemberResponse> added,
+        List<String> alreadyMembers,
+        List<String> unknownEmails
+) {}
@@ -0,0 +1,10 @@
+package com.pickleball.app.dto;
+
+import java.util.List;
+
+public record CourtAssignment(
+        int court,
+        List<ScheduledPlayer> teamOne,
+        List<ScheduledPlayer> teamTwo,
+        double ratingGap
+) {}
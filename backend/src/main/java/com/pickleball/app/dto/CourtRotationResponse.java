@@ -0,0 +1,9 @@
+package com.pickleball.app.dto;
+
+import java.util.List;
+
+public record CourtRotationResponse(
+        long version,
+        List<CourtState> courts,
+        List<SessionParticipantResponse> queue
+) {}
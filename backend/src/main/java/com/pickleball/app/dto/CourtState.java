@@ -0,0 +1,9 @@
+package com.pickleball.app.dto;
+
+import java.util.List;
+
+/** Who is on a court right now; empty while the court waits for four players. */
+public record CourtState(
+        int court,
+        List<SessionParticipantResponse> players
+) {}
@@ -0,0 +1,12 @@
+package com.pickleball.app.dto;
+
+/**
+ * Options for generating a session schedule. {@code includeGroupMembers} defaults to true;
+ * {@code seed} makes a schedule reproducible.
+ */
+public record GenerateRoundsRequest(
+        Integer rounds,
+        Integer courts,
+        Boolean includeGroupMembers,
+        Long seed
+) {}
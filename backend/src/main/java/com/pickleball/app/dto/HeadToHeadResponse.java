@@ -0,0 +1,9 @@
+package com.pickleball.app.dto;
+
+/** {@code playerId}'s record against and alongside {@code otherId}, from playerId's side. */
+public record HeadToHeadResponse(
+        Long playerId,
+        Long otherId,
+        PairRecord asOpponents,
+        PairRecord asPartners
+) {}
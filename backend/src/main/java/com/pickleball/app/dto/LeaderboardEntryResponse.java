@@ -0,0 +1,9 @@
+package com.pickleball.app.dto;
+
+public record LeaderboardEntryResponse(
+        int rank,
+        Long userId,
+        String name,
+        double score,
+        int gamesPlayed
+) {}
@@ -0,0 +1,29 @@
+package com.pickleball.app.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor for match history: the (matchDate, id) of the last row on a page,
+ * encoded as URL-safe base64 so clients treat it as a token rather than a filter.
+ */
+public record MatchCursor(LocalDateTime matchDate, Long id) {
+
+    public String encode() {
+        String raw = matchDate + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** @throws IllegalArgumentException if the token was not produced by {@link #encode()} */
+    public static MatchCursor decode(String token) {
+        String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        int sep = raw.indexOf('|');
+        if (sep < 0) throw new IllegalArgumentException("Malformed cursor");
+        try {
+            return new MatchCursor(LocalDateTime.parse(raw.substring(0, sep)), Long.parseLong(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+}
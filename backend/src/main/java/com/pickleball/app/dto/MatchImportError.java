@@ -0,0 +1,3 @@
+package com.pickleball.app.dto;
+
+public record MatchImportError(long line, String message) {}
@@ -0,0 +1,12 @@
+package com.pickleball.app.dto;
+
+import java.util.List;
+
+/** Outcome of a bulk import; {@code errors} lists at most the first few hundred rejected rows. */
+public record MatchImportResponse(
+        long rowsRead,
+        long imported,
+        long rejected,
+        List<MatchImportError> errors,
+        long elapsedMs
+) {}
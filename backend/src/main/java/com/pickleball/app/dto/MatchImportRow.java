@@ -0,0 +1,17 @@
+package com.pickleball.app.dto;
+
+import java.util.List;
+
+/**
+ * One match in an import file. Players are referenced by user id or email; the score may be
+ * given as two numbers or as "11-7" text, and matchDate as an ISO date or date-time.
+ */
+public record MatchImportRow(
+        String matchType,
+        List<String> teamOne,
+        List<String> teamTwo,
+        Integer teamOneScore,
+        Integer teamTwoScore,
+        String score,
+        String matchDate
+) {}
@@ -0,0 +1,6 @@
+package com.pickleball.app.dto;
+
+import java.util.List;
+
+/** One page of match history; {@code nextCursor} is null on the last page. */
+public record MatchPageResponse(List<MatchResponse> items, String nextCursor) {}
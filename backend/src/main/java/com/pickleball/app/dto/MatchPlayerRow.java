@@ -0,0 +1,4 @@
+package com.pickleball.app.dto;
+
+/** One (match, player) pair from a team join table. */
+public record MatchPlayerRow(Long matchId, Long userId, String name) {}
@@ -0,0 +1,19 @@
+package com.pickleball.app.dto;
+
+import com.pickleball.app.entity.MatchType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record MatchResponse(
+        Long id,
+        Long groupId,
+        String groupName,
+        MatchType matchType,
+        List<PlayerSummary> teamOne,
+        List<PlayerSummary> teamTwo,
+        String score,
+        Integer teamOneScore,
+        Integer teamTwoScore,
+        LocalDateTime matchDate
+) {}
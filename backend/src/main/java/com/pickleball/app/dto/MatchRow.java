@@ -0,0 +1,17 @@
+package com.pickleball.app.dto;
+
+import com.pickleball.app.entity.MatchType;
+
+import java.time.LocalDateTime;
+
+/** Scalar projection of a match row — no associations, so loading it never touches users or members. */
+public record MatchRow(
+        Long id,
+        Long groupId,
+        String groupName,
+        MatchType matchType,
+        String score,
+        Integer teamOneScore,
+        Integer teamTwoScore,
+        LocalDateTime matchDate
+) {}
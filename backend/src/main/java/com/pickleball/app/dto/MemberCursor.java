@@ -0,0 +1,28 @@
+package com.pickleball.app.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor for a group's member list: the (email, id) of the last member on a page,
+ * encoded as URL-safe base64 so clients treat it as a token rather than a filter.
+ */
+public record MemberCursor(String email, Long id) {
+
+    public String encode() {
+        String raw = id + "|" + email;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** @throws IllegalArgumentException if the token was not produced by {@link #encode()} */
+    public static MemberCursor decode(String token) {
+        String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        int sep = raw.indexOf('|');
+        if (sep < 0) throw new IllegalArgumentException("Malformed cursor");
+        try {
+            return new MemberCursor(raw.substring(sep + 1), Long.parseLong(raw.substring(0, sep)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.pickleball.app.dto;
+
+import java.util.List;
+
+/** One page of a group's members, ordered by email; {@code nextCursor} is null on the last page. */
+public record MemberPageResponse(List<GroupMemberResponse> items, String nextCursor) {}
@@ -0,0 +1,10 @@
+package com.pickleball.app.dto;
+
+public record PairRecord(
+        long gamesPlayed,
+        long wins,
+        long losses,
+        double winPercentage,
+        long pointsFor,
+        long pointsAgainst
+) {}
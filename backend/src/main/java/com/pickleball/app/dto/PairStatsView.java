@@ -0,0 +1,11 @@
+package com.pickleball.app.dto;
+
+/** One pair_stats row as read by PairStatsRepository, from playerA's side. */
+public interface PairStatsView {
+    String getRelation();
+    long getGamesPlayed();
+    long getWins();
+    long getLosses();
+    long getPointsFor();
+    long getPointsAgainst();
+}
@@ -0,0 +1,9 @@
+package com.pickleball.app.dto;
+
+public record PlayerRatingResponse(
+        Long userId,
+        double singlesRating,
+        int singlesGames,
+        double doublesRating,
+        int doublesGames
+) {}
@@ -0,0 +1,15 @@
+package com.pickleball.app.dto;
+
+/** Win/loss and points summary; {@code groupId} is null when aggregated across all groups. */
+public record PlayerStatsResponse(
+        Long userId,
+        String name,
+        Long groupId,
+        long gamesPlayed,
+        long wins,
+        long losses,
+        double winPercentage,
+        long pointsFor,
+        long pointsAgainst,
+        long pointDifferential
+) {}
@@ -0,0 +1,12 @@
+package com.pickleball.app.dto;
+
+/** Per-player stats row produced by the native queries in PlayerStatsRepository. */
+public interface PlayerStatsView {
+    Long getUserId();
+    String getName();
+    long getGamesPlayed();
+    long getWins();
+    long getLosses();
+    long getPointsFor();
+    long getPointsAgainst();
+}
@@ -0,0 +1,4 @@
+package com.pickleball.app.dto;
+
+/** Minimal player reference embedded in match responses; name falls back to email. */
+public record PlayerSummary(Long id, String name) {}
@@ -0,0 +1,3 @@
+package com.pickleball.app.dto;
+
+public record RatingReplayResponse(int matchesReplayed, int playersRated, long elapsedMs) {}
@@ -0,0 +1,9 @@
+package com.pickleball.app.dto;
+
+import java.util.List;
+
+public record ScheduleRound(
+        int round,
+        List<CourtAssignment> courts,
+        List<ScheduledPlayer> sittingOut
+) {}
@@ -0,0 +1,8 @@
+package com.pickleball.app.dto;
+
+public record ScheduledPlayer(
+        Long id,
+        String type,   // "GUEST" or "REGISTERED"
+        String displayName,
+        double rating
+) {}
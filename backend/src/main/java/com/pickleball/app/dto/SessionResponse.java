@@ -10,5 +10,5 @@ public record SessionResponse(
         String groupName,
         String status,
         LocalDateTime createdAt,
-        int participantCount
+        long participantCount
 ) {}
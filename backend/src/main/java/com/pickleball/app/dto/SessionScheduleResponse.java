@@ -0,0 +1,18 @@
+package com.pickleball.app.dto;
+
+import java.util.List;
+
+/**
+ * A generated schedule plus quality figures: how many partnerships and opponent match-ups repeat
+ * an earlier round, and the spread of sit-outs across players.
+ */
+public record SessionScheduleResponse(
+        String sessionCode,
+        int playerCount,
+        List<ScheduleRound> rounds,
+        int repeatPartners,
+        int repeatOpponents,
+        int minSitOuts,
+        int maxSitOuts,
+        long elapsedMs
+) {}
@@ -0,0 +1,4 @@
+package com.pickleball.app.dto;
+
+/** Starts a session's court rotation, or changes how many courts it uses. */
+public record StartCourtRotationRequest(Integer courts) {}
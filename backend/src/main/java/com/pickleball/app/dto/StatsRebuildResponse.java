@@ -0,0 +1,3 @@
+package com.pickleball.app.dto;
+
+public record StatsRebuildResponse(int groupsRebuilt, int rowsWritten, long elapsedMs) {}
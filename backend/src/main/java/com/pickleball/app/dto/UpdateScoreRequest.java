@@ -0,0 +1,6 @@
+package com.pickleball.app.dto;
+
+/**
+ * Either both numeric scores, or the legacy "11-7" text form in {@code score}.
+ */
+public record UpdateScoreRequest(Integer teamOneScore, Integer teamTwoScore, String score) {}
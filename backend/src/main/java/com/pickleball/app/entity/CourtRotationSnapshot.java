@@ -0,0 +1,34 @@
+package com.pickleball.app.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Last persisted state of a session's court rotation, so a restart resumes the queue rather than
+ * starting over. The live state is held in memory by CourtRotationService and written here
+ * periodically; {@code state} is the JSON of the rotation as the API returns it.
+ */
+@Entity
+@Table(name = "court_rotations")
+public class CourtRotationSnapshot {
+
+    @Id
+    @Column(name = "session_id")
+    private Long sessionId;
+
+    @Column(nullable = false, columnDefinition = "text")
+    private String state;
+
+    @Column(nullable = false)
+    private long version;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public CourtRotationSnapshot() {}
+
+    public Long getSessionId() { return sessionId; }
+    public String getState() { return state; }
+    public long getVersion() { return version; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+}
@@ -19,11 +19,13 @@ public class Group {
     @Column(name = "created_by_id")
     private Long createdById;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    /** Lazy: groups can have thousands of members; read them a page at a time via GroupRepository. */
+    @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
             name = "group_members",
             joinColumns = @JoinColumn(name = "group_id"),
-            inverseJoinColumns = @JoinColumn(name = "user_id")
+            inverseJoinColumns = @JoinColumn(name = "user_id"),
+            indexes = @Index(name = "idx_group_members_user", columnList = "user_id, group_id")
     )
     private Set<User> members = new HashSet<>();
 
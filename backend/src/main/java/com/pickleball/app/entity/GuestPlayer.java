@@ -8,7 +8,8 @@ import java.time.LocalDateTime;
  * They only exist within the lifetime of a session.
  */
 @Entity
-@Table(name = "guest_players")
+@Table(name = "guest_players",
+        indexes = @Index(name = "idx_guest_players_session", columnList = "session_id"))
 public class GuestPlayer {
 
     @Id
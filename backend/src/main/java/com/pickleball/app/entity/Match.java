@@ -7,7 +7,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "matches")
+@Table(name = "matches", indexes = {
+        @Index(name = "idx_matches_group_date", columnList = "group_id, match_date, id"),
+        @Index(name = "idx_matches_date", columnList = "match_date, id")
+})
 public class Match {
 
     @Id
@@ -26,7 +29,11 @@ public class Match {
         @JoinTable(
             name = "match_team_one_players",
             joinColumns = @JoinColumn(name = "match_id"),
-            inverseJoinColumns = @JoinColumn(name = "user_id")
+            inverseJoinColumns = @JoinColumn(name = "user_id"),
+            indexes = {
+                @Index(name = "idx_team_one_match", columnList = "match_id"),
+                @Index(name = "idx_team_one_user", columnList = "user_id, match_id")
+            }
         )
         private List<User> teamOne = new ArrayList<>();
 
@@ -34,12 +41,23 @@ public class Match {
         @JoinTable(
             name = "match_team_two_players",
             joinColumns = @JoinColumn(name = "match_id"),
-            inverseJoinColumns = @JoinColumn(name = "user_id")
+            inverseJoinColumns = @JoinColumn(name = "user_id"),
+            indexes = {
+                @Index(name = "idx_team_two_match", columnList = "match_id"),
+                @Index(name = "idx_team_two_user", columnList = "user_id, match_id")
+            }
         )
         private List<User> teamTwo = new ArrayList<>();
 
+    /** Display form of the result, e.g. "11-7"; always derived from the two numeric columns. */
     private String score;
 
+    @Column(name = "team_one_score")
+    private Integer teamOneScore;
+
+    @Column(name = "team_two_score")
+    private Integer teamTwoScore;
+
     @Column(nullable = false)
     private LocalDateTime matchDate;
 
@@ -72,6 +90,12 @@ public class Match {
     public String getScore() { return score; }
     public void setScore(String score) { this.score = score; }
 
+    public Integer getTeamOneScore() { return teamOneScore; }
+    public void setTeamOneScore(Integer teamOneScore) { this.teamOneScore = teamOneScore; }
+
+    public Integer getTeamTwoScore() { return teamTwoScore; }
+    public void setTeamTwoScore(Integer teamTwoScore) { this.teamTwoScore = teamTwoScore; }
+
     public LocalDateTime getMatchDate() { return matchDate; }
     public void setMatchDate(LocalDateTime matchDate) { this.matchDate = matchDate; }
 }
@@ -0,0 +1,6 @@
+package com.pickleball.app.entity;
+
+public enum PairRelation {
+    OPPONENT,
+    PARTNER
+}
@@ -0,0 +1,71 @@
+package com.pickleball.app.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Materialized record of two players against each other or as partners, across all groups.
+ * {@code playerA} is always the lower user id and the totals are from playerA's side.
+ * Maintained by PairStatsService alongside the match write and rebuildable from match history.
+ */
+@Entity
+@Table(name = "pair_stats",
+        uniqueConstraints = @UniqueConstraint(name = "uk_pair_stats_pair",
+                columnNames = {"player_a", "player_b", "relation"}),
+        indexes = @Index(name = "idx_pair_stats_player_b", columnList = "player_b"))
+public class PairStats {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "player_a", nullable = false)
+    private Long playerA;
+
+    @Column(name = "player_b", nullable = false)
+    private Long playerB;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private PairRelation relation;
+
+    @Column(name = "games_played", nullable = false)
+    private long gamesPlayed;
+
+    @Column(nullable = false)
+    private long wins;
+
+    @Column(nullable = false)
+    private long losses;
+
+    @Column(name = "points_for", nullable = false)
+    private long pointsFor;
+
+    @Column(name = "points_against", nullable = false)
+    private long pointsAgainst;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public PairStats() {}
+
+    public Long getId() { return id; }
+    public Long getPlayerA() { return playerA; }
+    public void setPlayerA(Long playerA) { this.playerA = playerA; }
+    public Long getPlayerB() { return playerB; }
+    public void setPlayerB(Long playerB) { this.playerB = playerB; }
+    public PairRelation getRelation() { return relation; }
+    public void setRelation(PairRelation relation) { this.relation = relation; }
+    public long getGamesPlayed() { return gamesPlayed; }
+    public void setGamesPlayed(long gamesPlayed) { this.gamesPlayed = gamesPlayed; }
+    public long getWins() { return wins; }
+    public void setWins(long wins) { this.wins = wins; }
+    public long getLosses() { return losses; }
+    public void setLosses(long losses) { this.losses = losses; }
+    public long getPointsFor() { return pointsFor; }
+    public void setPointsFor(long pointsFor) { this.pointsFor = pointsFor; }
+    public long getPointsAgainst() { return pointsAgainst; }
+    public void setPointsAgainst(long pointsAgainst) { this.pointsAgainst = pointsAgainst; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,48 @@
+package com.pickleball.app.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Persisted snapshot of a player's rating for one match type. The live values are held in memory
+ * by RatingService; this table is written through on every rated match and rewritten in bulk on replay.
+ */
+@Entity
+@Table(name = "player_ratings",
+        uniqueConstraints = @UniqueConstraint(name = "uk_player_ratings_user_type", columnNames = {"user_id", "match_type"}))
+public class PlayerRating {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "match_type", nullable = false)
+    private MatchType matchType;
+
+    @Column(nullable = false)
+    private double rating;
+
+    @Column(name = "games_played", nullable = false)
+    private int gamesPlayed;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public PlayerRating() {}
+
+    public Long getId() { return id; }
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    public MatchType getMatchType() { return matchType; }
+    public void setMatchType(MatchType matchType) { this.matchType = matchType; }
+    public double getRating() { return rating; }
+    public void setRating(double rating) { this.rating = rating; }
+    public int getGamesPlayed() { return gamesPlayed; }
+    public void setGamesPlayed(int gamesPlayed) { this.gamesPlayed = gamesPlayed; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,63 @@
+package com.pickleball.app.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Materialized per-player, per-group totals. Maintained by StatsService inside the same
+ * transaction as the match write, and rebuildable from match history at any time.
+ */
+@Entity
+@Table(name = "player_stats",
+        uniqueConstraints = @UniqueConstraint(name = "uk_player_stats_group_user", columnNames = {"group_id", "user_id"}),
+        indexes = @Index(name = "idx_player_stats_user", columnList = "user_id"))
+public class PlayerStats {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "group_id", nullable = false)
+    private Long groupId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "games_played", nullable = false)
+    private long gamesPlayed;
+
+    @Column(nullable = false)
+    private long wins;
+
+    @Column(nullable = false)
+    private long losses;
+
+    @Column(name = "points_for", nullable = false)
+    private long pointsFor;
+
+    @Column(name = "points_against", nullable = false)
+    private long pointsAgainst;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public PlayerStats() {}
+
+    public Long getId() { return id; }
+    public Long getGroupId() { return groupId; }
+    public void setGroupId(Long groupId) { this.groupId = groupId; }
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    public long getGamesPlayed() { return gamesPlayed; }
+    public void setGamesPlayed(long gamesPlayed) { this.gamesPlayed = gamesPlayed; }
+    public long getWins() { return wins; }
+    public void setWins(long wins) { this.wins = wins; }
+    public long getLosses() { return losses; }
+    public void setLosses(long losses) { this.losses = losses; }
+    public long getPointsFor() { return pointsFor; }
+    public void setPointsFor(long pointsFor) { this.pointsFor = pointsFor; }
+    public long getPointsAgainst() { return pointsAgainst; }
+    public void setPointsAgainst(long pointsAgainst) { this.pointsAgainst = pointsAgainst; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -4,7 +4,11 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "sessions")
+@Table(name = "sessions", indexes = {
+        @Index(name = "idx_sessions_created_by", columnList = "created_by_id, created_at"),
+        @Index(name = "idx_sessions_group", columnList = "group_id, created_at"),
+        @Index(name = "idx_sessions_status_closed", columnList = "status, closed_at")
+})
 public class Session {
 
     @Id
@@ -33,6 +37,10 @@ public class Session {
     @Column(nullable = false)
     private LocalDateTime createdAt;
 
+    /** Set when the session is closed, by its owner or by the idle-session reaper */
+    @Column(name = "closed_at")
+    private LocalDateTime closedAt;
+
     public Session() {}
 
     public Session(String code, String name, Long groupId, Long createdById) {
@@ -57,4 +65,6 @@ public class Session {
     public void setStatus(String status) { this.status = status; }
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    public LocalDateTime getClosedAt() { return closedAt; }
+    public void setClosedAt(LocalDateTime closedAt) { this.closedAt = closedAt; }
 }
@@ -15,6 +15,12 @@ import java.util.Set;
 @Table(name = "users")
 public class User implements UserDetails {
 
+    /**
+     * Stored as the password of accounts that can never log in (guests). It is not a BCrypt hash,
+     * so it can never match a submitted password, and UserDetailsServiceImpl refuses it outright.
+     */
+    public static final String LOGIN_DISABLED = "!login-disabled";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -68,6 +74,9 @@ public class User implements UserDetails {
     @Override public boolean isCredentialsNonExpired() { return true; }
     @Override public boolean isEnabled()               { return true; }
 
+    @JsonIgnore
+    public boolean isLoginDisabled() { return role == Role.GUEST || LOGIN_DISABLED.equals(password); }
+
     // ── Getters / Setters ─────────────────────────────────────────────────────
 
     public Long getId()           { return id; }
@@ -1,12 +1,15 @@
 package com.pickleball.app.repository;
 
+import com.pickleball.app.dto.GroupMemberResponse;
 import com.pickleball.app.entity.Group;
 import com.pickleball.app.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface GroupRepository extends JpaRepository<Group, Long> {
@@ -20,6 +23,40 @@ public interface GroupRepository extends JpaRepository<Group, Long> {
       """)
   List<Group> findAllByMemberId(@Param("userId") Long userId);
 
+    @Query("select g.id from Group g order by g.id")
+    List<Long> findAllIds();
+
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM group_members WHERE group_id = :groupId AND user_id = :userId)",
+            nativeQuery = true)
+    boolean isMember(@Param("groupId") Long groupId, @Param("userId") Long userId);
+
+    /** How many of the given users belong to the group — a primary-key probe per id. */
+    @Query(value = "SELECT count(*) FROM group_members WHERE group_id = :groupId AND user_id IN (:userIds)",
+            nativeQuery = true)
+    long countMembers(@Param("groupId") Long groupId, @Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Keyset page of a group's members ordered by email, walking the unique email index and
+     * probing the membership key per user. The cursor is the (email, id) of the last member of
+     * the previous page; pass nulls for the first page.
+     */
+    @Query("""
+            select new com.pickleball.app.dto.GroupMemberResponse(
+                u.id, u.email, u.name, u.photoUrl,
+                case when u.role = com.pickleball.app.entity.Role.GUEST then true else false end)
+            from Group g
+            join g.members u
+            where g.id = :groupId
+              and (cast(:cursorEmail as String) is null
+                   or u.email > :cursorEmail
+                   or (u.email = :cursorEmail and u.id > :cursorId))
+            order by u.email asc, u.id asc
+            """)
+    List<GroupMemberResponse> findMemberPage(@Param("groupId") Long groupId,
+                                             @Param("cursorEmail") String cursorEmail,
+                                             @Param("cursorId") Long cursorId,
+                                             Pageable pageable);
+
     @Modifying
     @Query(value = "DELETE FROM group_members WHERE group_id = :groupId AND user_id = :userId", nativeQuery = true)
     void removeMember(@Param("groupId") Long groupId, @Param("userId") Long userId);
@@ -37,6 +74,7 @@ public interface GroupRepository extends JpaRepository<Group, Long> {
                 lower(coalesce(u.name, '')) like lower(concat('%', :query, '%'))
                 or lower(u.email) like lower(concat('%', :query, '%'))
               )
+            order by u.name asc
             """)
-    List<User> searchMembers(@Param("groupId") Long groupId, @Param("query") String query);
+    List<User> searchMembers(@Param("groupId") Long groupId, @Param("query") String query, Pageable pageable);
 }
@@ -2,6 +2,10 @@ package com.pickleball.app.repository;
 
 import com.pickleball.app.entity.GuestPlayer;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -9,5 +13,18 @@ public interface GuestPlayerRepository extends JpaRepository<GuestPlayer, Long>
 
     List<GuestPlayer> findAllBySessionId(Long sessionId);
 
-    void deleteAllBySessionId(Long sessionId);
+    /** One DELETE statement; the derived version loaded and removed every row individually. */
+    @Modifying
+    @Transactional
+    @Query("delete from GuestPlayer g where g.sessionId = :sessionId")
+    int deleteAllBySessionId(@Param("sessionId") Long sessionId);
+
+    /** Deletes at most {@code limit} guests of the given sessions, keeping each statement's locks short. */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            DELETE FROM guest_players WHERE id IN (
+                SELECT id FROM guest_players WHERE session_id IN (:sessionIds) LIMIT :limit)
+            """, nativeQuery = true)
+    int deleteChunkBySessionIds(@Param("sessionIds") List<Long> sessionIds, @Param("limit") int limit);
 }
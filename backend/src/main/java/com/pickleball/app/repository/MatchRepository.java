@@ -1,9 +1,99 @@
 package com.pickleball.app.repository;
 
+import com.pickleball.app.dto.MatchPlayerRow;
+import com.pickleball.app.dto.MatchRow;
 import com.pickleball.app.entity.Match;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface MatchRepository extends JpaRepository<Match, Long> {
+
+    /**
+     * Keyset page of match history, newest first, limited to groups the viewer belongs to.
+     * The cursor is the (matchDate, id) of the last row of the previous page; pass nulls for the first page.
+     */
+    @Query("""
+            select new com.pickleball.app.dto.MatchRow(
+                m.id, g.id, g.name, m.matchType, m.score, m.teamOneScore, m.teamTwoScore, m.matchDate)
+            from Match m
+            join m.group g
+            where g.id in (
+                select vg.id from Group vg join vg.members viewer where viewer.id = :viewerId
+              )
+              and (:groupId is null or g.id = :groupId)
+              and (:playerId is null
+                   or exists (select 1 from Match t1 join t1.teamOne p where t1 = m and p.id = :playerId)
+                   or exists (select 1 from Match t2 join t2.teamTwo p where t2 = m and p.id = :playerId))
+              and (cast(:from as LocalDateTime) is null or m.matchDate >= :from)
+              and (cast(:to as LocalDateTime) is null or m.matchDate < :to)
+              and (cast(:cursorDate as LocalDateTime) is null
+                   or m.matchDate < :cursorDate
+                   or (m.matchDate = :cursorDate and m.id < :cursorId))
+            order by m.matchDate desc, m.id desc
+            """)
+    List<MatchRow> findHistoryPage(@Param("viewerId") Long viewerId,
+                                   @Param("groupId") Long groupId,
+                                   @Param("playerId") Long playerId,
+                                   @Param("from") LocalDateTime from,
+                                   @Param("to") LocalDateTime to,
+                                   @Param("cursorDate") LocalDateTime cursorDate,
+                                   @Param("cursorId") Long cursorId,
+                                   Pageable pageable);
+
+    /**
+     * The match with its row locked until the transaction ends, so concurrent score corrections
+     * see each other's result as the previous score instead of both reading the same one.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select m from Match m where m.id = :id")
+    Optional<Match> findByIdForUpdate(@Param("id") Long id);
+
+    /** Locks the given match rows, in id order so overlapping batches cannot deadlock. */
+    @Query(value = "SELECT id FROM matches WHERE id IN (:ids) ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<Long> lockByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("""
+            select new com.pickleball.app.dto.MatchRow(
+                m.id, g.id, g.name, m.matchType, m.score, m.teamOneScore, m.teamTwoScore, m.matchDate)
+            from Match m
+            left join m.group g
+            where m.id = :id
+            """)
+    Optional<MatchRow> findRowById(@Param("id") Long id);
+
+    @Query("""
+            select new com.pickleball.app.dto.MatchRow(
+                m.id, g.id, g.name, m.matchType, m.score, m.teamOneScore, m.teamTwoScore, m.matchDate)
+            from Match m
+            left join m.group g
+            where m.id in :ids
+            """)
+    List<MatchRow> findRowsByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("""
+            select new com.pickleball.app.dto.MatchPlayerRow(m.id, u.id, coalesce(u.name, u.email))
+            from Match m
+            join m.teamOne u
+            where m.id in :matchIds
+            """)
+    List<MatchPlayerRow> findTeamOnePlayers(@Param("matchIds") Collection<Long> matchIds);
+
+    @Query("""
+            select new com.pickleball.app.dto.MatchPlayerRow(m.id, u.id, coalesce(u.name, u.email))
+            from Match m
+            join m.teamTwo u
+            where m.id in :matchIds
+            """)
+    List<MatchPlayerRow> findTeamTwoPlayers(@Param("matchIds") Collection<Long> matchIds);
 }
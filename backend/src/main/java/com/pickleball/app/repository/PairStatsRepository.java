@@ -0,0 +1,72 @@
+package com.pickleball.app.repository;
+
+import com.pickleball.app.dto.PairStatsView;
+import com.pickleball.app.entity.PairStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface PairStatsRepository extends JpaRepository<PairStats, Long> {
+
+    @Modifying
+    @Query(value = "DELETE FROM pair_stats WHERE player_a >= :fromId AND player_a < :toId", nativeQuery = true)
+    int deleteByPlayerARange(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    /**
+     * Recomputes the rows whose playerA falls in [fromId, toId) from match history: each team row
+     * becomes a side of a match, and every two sides of the same match with playerA &lt; playerB
+     * form a pair — partners when they are on the same team, opponents otherwise. Conflicts add
+     * rather than overwrite, so a delta committed by a match write after this statement's snapshot
+     * is kept on top of the recomputed totals.
+     */
+    @Modifying
+    @Query(value = """
+            WITH a AS (
+                SELECT m.id AS match_id, 1 AS team, t.user_id, m.team_one_score AS pf, m.team_two_score AS pa
+                FROM matches m JOIN match_team_one_players t ON t.match_id = m.id
+                WHERE m.team_one_score IS NOT NULL AND m.team_two_score IS NOT NULL
+                  AND t.user_id >= :fromId AND t.user_id < :toId
+                UNION ALL
+                SELECT m.id, 2, t.user_id, m.team_two_score, m.team_one_score
+                FROM matches m JOIN match_team_two_players t ON t.match_id = m.id
+                WHERE m.team_one_score IS NOT NULL AND m.team_two_score IS NOT NULL
+                  AND t.user_id >= :fromId AND t.user_id < :toId
+            ), b AS (
+                SELECT t.match_id, 1 AS team, t.user_id FROM match_team_one_players t
+                WHERE t.match_id IN (SELECT match_id FROM a)
+                UNION ALL
+                SELECT t.match_id, 2, t.user_id FROM match_team_two_players t
+                WHERE t.match_id IN (SELECT match_id FROM a)
+            )
+            INSERT INTO pair_stats (player_a, player_b, relation, games_played, wins, losses,
+                                    points_for, points_against, updated_at)
+            SELECT a.user_id, b.user_id,
+                   CASE WHEN a.team = b.team THEN 'PARTNER' ELSE 'OPPONENT' END,
+                   count(*),
+                   count(*) FILTER (WHERE a.pf > a.pa),
+                   count(*) FILTER (WHERE a.pf < a.pa),
+                   sum(a.pf), sum(a.pa), now()
+            FROM a
+            JOIN b ON b.match_id = a.match_id AND b.user_id > a.user_id
+            GROUP BY a.user_id, b.user_id, CASE WHEN a.team = b.team THEN 'PARTNER' ELSE 'OPPONENT' END
+            ON CONFLICT (player_a, player_b, relation) DO UPDATE SET
+                games_played   = pair_stats.games_played   + EXCLUDED.games_played,
+                wins           = pair_stats.wins           + EXCLUDED.wins,
+                losses         = pair_stats.losses         + EXCLUDED.losses,
+                points_for     = pair_stats.points_for     + EXCLUDED.points_for,
+                points_against = pair_stats.points_against + EXCLUDED.points_against,
+                updated_at     = EXCLUDED.updated_at
+            """, nativeQuery = true)
+    int insertAggregatedForPlayerARange(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    @Query(value = """
+            SELECT relation AS "relation", games_played AS "gamesPlayed", wins AS "wins", losses AS "losses",
+                   points_for AS "pointsFor", points_against AS "pointsAgainst"
+            FROM pair_stats
+            WHERE player_a = :playerA AND player_b = :playerB
+            """, nativeQuery = true)
+    List<PairStatsView> findPair(@Param("playerA") Long playerA, @Param("playerB") Long playerB);
+}
@@ -0,0 +1,88 @@
+package com.pickleball.app.repository;
+
+import com.pickleball.app.dto.PlayerStatsView;
+import com.pickleball.app.entity.PlayerStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface PlayerStatsRepository extends JpaRepository<PlayerStats, Long> {
+
+    /** Adds (possibly negative) deltas to a player's row, creating it on first use. */
+    @Modifying
+    @Query(value = """
+            INSERT INTO player_stats (group_id, user_id, games_played, wins, losses, points_for, points_against, updated_at)
+            VALUES (:groupId, :userId, :games, :wins, :losses, :pointsFor, :pointsAgainst, now())
+            ON CONFLICT (group_id, user_id) DO UPDATE SET
+                games_played   = player_stats.games_played   + EXCLUDED.games_played,
+                wins           = player_stats.wins           + EXCLUDED.wins,
+                losses         = player_stats.losses         + EXCLUDED.losses,
+                points_for     = player_stats.points_for     + EXCLUDED.points_for,
+                points_against = player_stats.points_against + EXCLUDED.points_against,
+                updated_at     = EXCLUDED.updated_at
+            """, nativeQuery = true)
+    void applyDelta(@Param("groupId") Long groupId, @Param("userId") Long userId,
+                    @Param("games") long games, @Param("wins") long wins, @Param("losses") long losses,
+                    @Param("pointsFor") long pointsFor, @Param("pointsAgainst") long pointsAgainst);
+
+    @Modifying
+    @Query(value = "DELETE FROM player_stats WHERE group_id IN (:groupIds)", nativeQuery = true)
+    int deleteByGroupIds(@Param("groupIds") Collection<Long> groupIds);
+
+    /**
+     * Recomputes the rows for a chunk of groups straight from match history: each team row becomes
+     * a (points for, points against) side and the sides are aggregated per group and user.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO player_stats (group_id, user_id, games_played, wins, losses, points_for, points_against, updated_at)
+            SELECT group_id, user_id, count(*),
+                   count(*) FILTER (WHERE pf > pa),
+                   count(*) FILTER (WHERE pf < pa),
+                   sum(pf), sum(pa), now()
+            FROM (
+                SELECT m.group_id, t.user_id, m.team_one_score AS pf, m.team_two_score AS pa
+                FROM matches m JOIN match_team_one_players t ON t.match_id = m.id
+                WHERE m.group_id IN (:groupIds) AND m.team_one_score IS NOT NULL AND m.team_two_score IS NOT NULL
+                UNION ALL
+                SELECT m.group_id, t.user_id, m.team_two_score, m.team_one_score
+                FROM matches m JOIN match_team_two_players t ON t.match_id = m.id
+                WHERE m.group_id IN (:groupIds) AND m.team_one_score IS NOT NULL AND m.team_two_score IS NOT NULL
+            ) sides
+            GROUP BY group_id, user_id
+            """, nativeQuery = true)
+    int insertAggregatedForGroups(@Param("groupIds") Collection<Long> groupIds);
+
+    @Query(value = """
+            SELECT ps.user_id AS "userId", coalesce(u.name, u.email) AS "name",
+                   ps.games_played AS "gamesPlayed", ps.wins AS "wins", ps.losses AS "losses",
+                   ps.points_for AS "pointsFor", ps.points_against AS "pointsAgainst"
+            FROM player_stats ps
+            JOIN users u ON u.id = ps.user_id
+            WHERE ps.group_id = :groupId
+            ORDER BY ps.wins DESC, ps.points_for - ps.points_against DESC, ps.user_id
+            """, nativeQuery = true)
+    List<PlayerStatsView> findGroupStats(@Param("groupId") Long groupId);
+
+    /** One player's totals in a group, or summed over all groups when groupId is null. */
+    @Query(value = """
+            SELECT u.id AS "userId", coalesce(u.name, u.email) AS "name",
+                   coalesce(sum(ps.games_played), 0) AS "gamesPlayed",
+                   coalesce(sum(ps.wins), 0) AS "wins",
+                   coalesce(sum(ps.losses), 0) AS "losses",
+                   coalesce(sum(ps.points_for), 0) AS "pointsFor",
+                   coalesce(sum(ps.points_against), 0) AS "pointsAgainst"
+            FROM users u
+            LEFT JOIN player_stats ps
+                   ON ps.user_id = u.id
+                  AND (CAST(:groupId AS bigint) IS NULL OR ps.group_id = :groupId)
+            WHERE u.id = :userId
+            GROUP BY u.id, u.name, u.email
+            """, nativeQuery = true)
+    Optional<PlayerStatsView> findPlayerStats(@Param("userId") Long userId, @Param("groupId") Long groupId);
+}
@@ -1,5 +1,6 @@
 package com.pickleball.app.repository;
 
+import com.pickleball.app.dto.SessionResponse;
 import com.pickleball.app.entity.Session;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -18,5 +19,28 @@ public interface SessionRepository extends JpaRepository<Session, Long> {
     @Query("select s from Session s where s.groupId = :groupId order by s.createdAt desc")
     List<Session> findAllByGroupId(@Param("groupId") Long groupId);
 
-    boolean existsByCode(String code);
+    /**
+     * Session summaries — group name and guest count included — in one statement, however many
+     * sessions match. The member set of the group is never loaded.
+     */
+    String SUMMARY_SELECT = """
+            select new com.pickleball.app.dto.SessionResponse(
+                s.id, s.code, s.name, s.groupId, g.name, s.status, s.createdAt, count(gp.id))
+            from Session s
+            left join Group g on g.id = s.groupId
+            left join GuestPlayer gp on gp.sessionId = s.id
+            """;
+    String SUMMARY_GROUP_BY = " group by s.id, s.code, s.name, s.groupId, g.name, s.status, s.createdAt";
+
+    @Query(SUMMARY_SELECT + " where s.createdById = :userId" + SUMMARY_GROUP_BY + " order by s.createdAt desc")
+    List<SessionResponse> findSummariesByCreatedById(@Param("userId") Long userId);
+
+    @Query(SUMMARY_SELECT + " where s.groupId = :groupId" + SUMMARY_GROUP_BY + " order by s.createdAt desc")
+    List<SessionResponse> findSummariesByGroupId(@Param("groupId") Long groupId);
+
+    @Query(SUMMARY_SELECT + " where s.id = :id" + SUMMARY_GROUP_BY)
+    Optional<SessionResponse> findSummaryById(@Param("id") Long id);
+
+    @Query(SUMMARY_SELECT + " where s.code = :code" + SUMMARY_GROUP_BY)
+    Optional<SessionResponse> findSummaryByCode(@Param("code") String code);
 }
@@ -0,0 +1,50 @@
+package com.pickleball.app.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Authenticated principals by JWT subject (email), so a dashboard's burst of API calls costs one
+ * user lookup instead of one per request. Entries are evicted when the user's profile or password
+ * changes; the TTL bounds how long a change made on another instance goes unseen. Hit and miss
+ * counts are published as the {@code cache.*} meters tagged {@code cache=principals}.
+ */
+@Component
+public class PrincipalCache {
+
+    private final UserDetailsService userDetailsService;
+    private final Cache<String, UserDetails> cache;
+
+    public PrincipalCache(UserDetailsService userDetailsService,
+                          MeterRegistry meterRegistry,
+                          @Value("${app.principal-cache.max-size:10000}") long maxSize,
+                          @Value("${app.principal-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.userDetailsService = userDetailsService;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "principals");
+    }
+
+    /**
+     * The principal for {@code email}, loaded on a miss; unknown users are not cached. The same
+     * instance is handed to every request for that user, so callers must treat it as read-only.
+     */
+    public UserDetails get(String email) {
+        return cache.get(email, userDetailsService::loadUserByUsername);
+    }
+
+    public void evict(String email) {
+        cache.invalidate(email);
+    }
+}
@@ -1,5 +1,6 @@
 package com.pickleball.app.security;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -39,12 +40,20 @@ public class SecurityConfig {
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
+                        // The request was authorized before a streamed response started; the async
+                        // dispatch that completes it carries no JWT and must not be re-checked
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/api/auth/**").permitAll()
                         // Public session endpoints — join / view session without logging in
                         .requestMatchers(org.springframework.http.HttpMethod.GET, "/api/sessions/*").permitAll()
                         .requestMatchers(org.springframework.http.HttpMethod.GET, "/api/sessions/*/participants").permitAll()
+                        .requestMatchers(org.springframework.http.HttpMethod.GET, "/api/sessions/*/events").permitAll()
+                        .requestMatchers(org.springframework.http.HttpMethod.GET, "/api/sessions/*/courts").permitAll()
                         .requestMatchers(org.springframework.http.HttpMethod.POST, "/api/sessions/*/join").permitAll()
                         .requestMatchers("/api/**").authenticated()
+                        // Metrics (cache hit rates etc.) are for admins; health stays open for probes
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                 )
                 .sessionManagement(session ->
                         session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
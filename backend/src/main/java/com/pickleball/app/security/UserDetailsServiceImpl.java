@@ -19,6 +19,7 @@ public class UserDetailsServiceImpl implements UserDetailsService {
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         return userRepository.findByEmail(email)
+                .filter(user -> !user.isLoginDisabled())
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + email));
     }
 }
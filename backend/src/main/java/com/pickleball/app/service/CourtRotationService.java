@@ -0,0 +1,241 @@
+package com.pickleball.app.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pickleball.app.dto.CourtRotationResponse;
+import com.pickleball.app.dto.CourtState;
+import com.pickleball.app.dto.SessionParticipantResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * "Who's up next" for open play: per session, the players on each court and a queue of those
+ * waiting. When a court is marked free its four players go to the back of the queue and the next
+ * four take the court; new joiners queue at the back.
+ *
+ * <p>Rotations live in memory, one object per active session, each guarded by its own monitor,
+ * so sessions never contend with each other. Changed rotations are written to
+ * {@code court_rotations} in one batch every few seconds and read back on startup; a crash loses
+ * at most the last interval.
+ */
+@Service
+public class CourtRotationService {
+
+    private static final Logger log = LoggerFactory.getLogger(CourtRotationService.class);
+
+    public static final int PLAYERS_PER_COURT = 4;
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO court_rotations (session_id, state, version, updated_at)
+            VALUES (?, ?, ?, ?)
+            ON CONFLICT (session_id) DO UPDATE SET
+                state      = EXCLUDED.state,
+                version    = EXCLUDED.version,
+                updated_at = EXCLUDED.updated_at
+            """;
+
+    private static final String RESTORE_SQL = """
+            SELECT r.session_id, r.state
+            FROM court_rotations r
+            JOIN sessions s ON s.id = r.session_id
+            WHERE s.status = 'ACTIVE'
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final Map<Long, CourtRotation> rotations = new ConcurrentHashMap<>();
+
+    public CourtRotationService(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Starts the rotation with {@code participants} queued in join order, or, if it is already
+     * running, changes the number of courts: players on removed courts go to the front of the queue.
+     */
+    public CourtRotationResponse start(Long sessionId, int courts, List<SessionParticipantResponse> participants) {
+        CourtRotation rotation = rotations.computeIfAbsent(sessionId, id -> new CourtRotation(courts, participants));
+        return rotation.resize(courts);
+    }
+
+    public CourtRotationResponse get(Long sessionId) {
+        return find(sessionId).snapshot();
+    }
+
+    /** Sends the players on {@code court} (1-based) to the back of the queue and refills it. */
+    public CourtRotationResponse freeCourt(Long sessionId, int court) {
+        return find(sessionId).free(court);
+    }
+
+    /** Queues a new participant; empty if the session has no rotation running. */
+    public Optional<CourtRotationResponse> participantJoined(Long sessionId, SessionParticipantResponse participant) {
+        CourtRotation rotation = rotations.get(sessionId);
+        return rotation == null ? Optional.empty() : Optional.of(rotation.enqueue(participant));
+    }
+
+    /** Drops a closed session's rotation from memory and from the snapshot table. */
+    public void discard(Long sessionId) {
+        if (rotations.remove(sessionId) != null) {
+            jdbcTemplate.update("DELETE FROM court_rotations WHERE session_id = ?", sessionId);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        jdbcTemplate.query(RESTORE_SQL, rs -> {
+            try {
+                CourtRotationResponse state = objectMapper.readValue(rs.getString(2), CourtRotationResponse.class);
+                rotations.put(rs.getLong(1), new CourtRotation(state));
+            } catch (JsonProcessingException e) {
+                log.warn("Skipping unreadable court rotation for session {}: {}", rs.getLong(1), e.getMessage());
+            }
+        });
+        if (!rotations.isEmpty()) {
+            log.info("Restored {} court rotations", rotations.size());
+        }
+    }
+
+    /**
+     * Writes every rotation that changed since its last snapshot, in one batch. A session
+     * discarded while the batch was being written may just have had its row put back, so each
+     * written rotation is checked against the live map afterwards and such rows are deleted again.
+     */
+    @Scheduled(fixedDelayString = "${app.court-rotation.snapshot-interval-ms:5000}")
+    public void snapshot() {
+        List<Object[]> rows = new ArrayList<>();
+        List<Runnable> onWritten = new ArrayList<>();
+        Map<Long, CourtRotation> written = new HashMap<>();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        rotations.forEach((sessionId, rotation) -> {
+            CourtRotationResponse state = rotation.snapshotIfDirty();
+            if (state == null) return;
+            try {
+                rows.add(new Object[]{sessionId, objectMapper.writeValueAsString(state), state.version(), now});
+                onWritten.add(() -> rotation.markPersisted(state.version()));
+                written.put(sessionId, rotation);
+            } catch (JsonProcessingException e) {
+                log.warn("Could not serialize court rotation for session {}: {}", sessionId, e.getMessage());
+            }
+        });
+        if (rows.isEmpty()) return;
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+        onWritten.forEach(Runnable::run);
+        // discard() removes from the map before deleting, so anything gone now may be orphaned
+        List<Object[]> orphans = new ArrayList<>();
+        written.forEach((sessionId, rotation) -> {
+            if (rotations.get(sessionId) != rotation) orphans.add(new Object[]{sessionId});
+        });
+        if (!orphans.isEmpty()) {
+            jdbcTemplate.batchUpdate("DELETE FROM court_rotations WHERE session_id = ?", orphans);
+        }
+    }
+
+    private CourtRotation find(Long sessionId) {
+        CourtRotation rotation = rotations.get(sessionId);
+        if (rotation == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No court rotation for this session");
+        }
+        return rotation;
+    }
+
+    /** One session's courts and queue. All access goes through the instance monitor. */
+    private static final class CourtRotation {
+        private final List<List<SessionParticipantResponse>> courts = new ArrayList<>();
+        private final Deque<SessionParticipantResponse> queue = new ArrayDeque<>();
+        private long version;
+        private long persistedVersion;
+
+        CourtRotation(int courtCount, List<SessionParticipantResponse> participants) {
+            for (int i = 0; i < courtCount; i++) courts.add(new ArrayList<>(PLAYERS_PER_COURT));
+            queue.addAll(participants);
+            fillEmptyCourts();
+            version = 1;
+        }
+
+        CourtRotation(CourtRotationResponse state) {
+            for (CourtState court : state.courts()) courts.add(new ArrayList<>(court.players()));
+            queue.addAll(state.queue());
+            version = state.version();
+            persistedVersion = state.version();
+        }
+
+        synchronized CourtRotationResponse resize(int courtCount) {
+            if (courtCount == courts.size()) return snapshot();
+            while (courts.size() > courtCount) {
+                List<SessionParticipantResponse> removed = courts.remove(courts.size() - 1);
+                for (int i = removed.size() - 1; i >= 0; i--) queue.addFirst(removed.get(i));
+            }
+            while (courts.size() < courtCount) courts.add(new ArrayList<>(PLAYERS_PER_COURT));
+            fillEmptyCourts();
+            version++;
+            return snapshot();
+        }
+
+        synchronized CourtRotationResponse free(int court) {
+            if (court < 1 || court > courts.size()) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "court must be 1-" + courts.size());
+            }
+            List<SessionParticipantResponse> players = courts.get(court - 1);
+            queue.addAll(players);
+            players.clear();
+            fillEmptyCourts();
+            version++;
+            return snapshot();
+        }
+
+        synchronized CourtRotationResponse enqueue(SessionParticipantResponse participant) {
+            boolean known = queue.stream().anyMatch(p -> p.id().equals(participant.id()))
+                    || courts.stream().flatMap(List::stream).anyMatch(p -> p.id().equals(participant.id()));
+            if (!known) {
+                queue.addLast(participant);
+                fillEmptyCourts();
+                version++;
+            }
+            return snapshot();
+        }
+
+        synchronized CourtRotationResponse snapshot() {
+            List<CourtState> states = new ArrayList<>(courts.size());
+            for (int i = 0; i < courts.size(); i++) {
+                states.add(new CourtState(i + 1, List.copyOf(courts.get(i))));
+            }
+            return new CourtRotationResponse(version, states, List.copyOf(queue));
+        }
+
+        synchronized CourtRotationResponse snapshotIfDirty() {
+            return version == persistedVersion ? null : snapshot();
+        }
+
+        synchronized void markPersisted(long persisted) {
+            persistedVersion = Math.max(persistedVersion, persisted);
+        }
+
+        /** Puts the next four waiting players on each empty court, lowest court number first. */
+        private void fillEmptyCourts() {
+            for (List<SessionParticipantResponse> court : courts) {
+                if (queue.size() < PLAYERS_PER_COURT) return;
+                if (!court.isEmpty()) continue;
+                for (int i = 0; i < PLAYERS_PER_COURT; i++) court.add(queue.pollFirst());
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.pickleball.app.service;
+
+/**
+ * Published by GroupService inside the write transaction when a user joins or leaves a group.
+ * A null {@code userId} means the whole group was deleted.
+ */
+public record GroupMembershipChangedEvent(Long groupId, Long userId, boolean added) {
+
+    public boolean isGroupDeleted() {
+        return userId == null;
+    }
+}
@@ -1,34 +1,61 @@
 package com.pickleball.app.service;
 
+import com.pickleball.app.dto.BulkAddMembersResponse;
 import com.pickleball.app.dto.GroupMemberResponse;
 import com.pickleball.app.dto.GroupResponse;
+import com.pickleball.app.dto.MemberCursor;
+import com.pickleball.app.dto.MemberPageResponse;
 import com.pickleball.app.entity.Group;
 import com.pickleball.app.entity.Role;
 import com.pickleball.app.entity.User;
 import com.pickleball.app.repository.GroupRepository;
 import com.pickleball.app.repository.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class GroupService {
 
+    /** One statement for the whole list; rows already present are skipped and not returned. */
+    private static final String ADD_MEMBERS_SQL = """
+            INSERT INTO group_members (group_id, user_id)
+            SELECT ?, unnest(?::bigint[])
+            ON CONFLICT DO NOTHING
+            RETURNING user_id
+            """;
+
+    private static final String INSERT_GUEST_SQL =
+            "INSERT INTO users (id, email, password, role, name) VALUES (?, ?, ?, ?, ?)";
+
     private final GroupRepository groupRepository;
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserSearchIndex userSearchIndex;
+    private final JdbcTemplate jdbcTemplate;
 
     public GroupService(GroupRepository groupRepository, UserRepository userRepository,
-                        PasswordEncoder passwordEncoder) {
+                        ApplicationEventPublisher eventPublisher,
+                        UserSearchIndex userSearchIndex, JdbcTemplate jdbcTemplate) {
         this.groupRepository = groupRepository;
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.eventPublisher = eventPublisher;
+        this.userSearchIndex = userSearchIndex;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
     @Transactional
@@ -37,6 +64,7 @@ public class GroupService {
         Group saved = groupRepository.save(group);
         // Use native insert to avoid detached-entity issues
         groupRepository.addMember(saved.getId(), creatorId);
+        eventPublisher.publishEvent(new GroupMembershipChangedEvent(saved.getId(), creatorId, true));
         return toGroupResponse(saved);
     }
 
@@ -47,14 +75,27 @@ public class GroupService {
                 .toList();
     }
 
+    /**
+     * Returns one page of the group's members ordered by email. One extra row is fetched to
+     * learn whether another page exists, so no count query is needed.
+     */
     @Transactional(readOnly = true)
-    public List<GroupMemberResponse> getMembers(Long groupId) {
-        Group group = groupRepository.findById(groupId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Group not found"));
-        return group.getMembers().stream()
-                .sorted(Comparator.comparing(User::getEmail, String.CASE_INSENSITIVE_ORDER))
-                .map(this::toMemberResponse)
-                .toList();
+    public MemberPageResponse getMembers(Long groupId, MemberCursor after, int size) {
+        if (!groupRepository.existsById(groupId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Group not found");
+        }
+        List<GroupMemberResponse> rows = groupRepository.findMemberPage(groupId,
+                after != null ? after.email() : null,
+                after != null ? after.id() : null,
+                PageRequest.of(0, size + 1));
+
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            GroupMemberResponse last = rows.get(size - 1);
+            nextCursor = new MemberCursor(last.email(), last.id()).encode();
+        }
+        return new MemberPageResponse(rows, nextCursor);
     }
 
     @Transactional
@@ -65,9 +106,51 @@ public class GroupService {
         User user = userRepository.findByEmail(email.trim().toLowerCase())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "No registered user found with that email"));
         groupRepository.addMember(groupId, user.getId());
+        eventPublisher.publishEvent(new GroupMembershipChangedEvent(groupId, user.getId(), true));
         return toMemberResponse(user);
     }
 
+    /**
+     * Adds every registered user among {@code emails} in two statements — one lookup, one insert —
+     * however long the list. Unknown emails and users who were already members are reported back
+     * rather than failing the call.
+     */
+    @Transactional
+    public BulkAddMembersResponse addMembersByEmail(Long groupId, List<String> emails) {
+        if (!groupRepository.existsById(groupId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Group not found");
+        }
+        Set<String> normalized = new LinkedHashSet<>();
+        for (String email : emails) {
+            if (email != null && !email.isBlank()) normalized.add(email.trim().toLowerCase());
+        }
+        if (normalized.isEmpty()) {
+            return new BulkAddMembersResponse(List.of(), List.of(), List.of());
+        }
+
+        Map<String, User> byEmail = userRepository.findAllByEmailIn(normalized).stream()
+                .collect(Collectors.toMap(User::getEmail, Function.identity(), (a, b) -> a));
+        Long[] userIds = byEmail.values().stream().map(User::getId).toArray(Long[]::new);
+        Set<Long> inserted = userIds.length == 0 ? Set.of()
+                : new HashSet<>(jdbcTemplate.queryForList(ADD_MEMBERS_SQL, Long.class, groupId, userIds));
+
+        List<GroupMemberResponse> added = new ArrayList<>();
+        List<String> alreadyMembers = new ArrayList<>();
+        List<String> unknownEmails = new ArrayList<>();
+        for (String email : normalized) {
+            User user = byEmail.get(email);
+            if (user == null) {
+                unknownEmails.add(email);
+            } else if (inserted.contains(user.getId())) {
+                added.add(toMemberResponse(user));
+                eventPublisher.publishEvent(new GroupMembershipChangedEvent(groupId, user.getId(), true));
+            } else {
+                alreadyMembers.add(email);
+            }
+        }
+        return new BulkAddMembersResponse(added, alreadyMembers, unknownEmails);
+    }
+
     /**
      * Creates a lightweight guest account (Role.GUEST) with just a display name
      * and adds them to the group. Guests have a synthetic email and can never log in.
@@ -77,14 +160,45 @@ public class GroupService {
         if (!groupRepository.existsById(groupId)) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Group not found");
         }
-        String guestEmail = "guest_" + UUID.randomUUID().toString().replace("-", "") + "@pickleball.local";
-        User guest = new User(guestEmail, passwordEncoder.encode(UUID.randomUUID().toString()), Role.GUEST);
+        User guest = new User(guestEmail(), User.LOGIN_DISABLED, Role.GUEST);
         guest.setName(displayName.trim());
         User saved = userRepository.save(guest);
         groupRepository.addMember(groupId, saved.getId());
+        eventPublisher.publishEvent(UserSavedEvent.of(saved));
+        eventPublisher.publishEvent(new GroupMembershipChangedEvent(groupId, saved.getId(), true));
         return toMemberResponse(saved);
     }
 
+    /**
+     * Creates a guest per display name and adds them all to the group in one transaction: ids are
+     * reserved in one query, then users and memberships are each written as a single batch.
+     */
+    @Transactional
+    public List<GroupMemberResponse> addGuestMembers(Long groupId, List<String> displayNames) {
+        if (!groupRepository.existsById(groupId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Group not found");
+        }
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT nextval(pg_get_serial_sequence('users', 'id')) FROM generate_series(1, ?)",
+                Long.class, displayNames.size());
+        List<Object[]> rows = new ArrayList<>(displayNames.size());
+        List<GroupMemberResponse> added = new ArrayList<>(displayNames.size());
+        for (int i = 0; i < displayNames.size(); i++) {
+            String email = guestEmail();
+            String name = displayNames.get(i).trim();
+            rows.add(new Object[]{ids.get(i), email, User.LOGIN_DISABLED, Role.GUEST.name(), name});
+            added.add(new GroupMemberResponse(ids.get(i), email, name, null, true));
+        }
+        jdbcTemplate.batchUpdate(INSERT_GUEST_SQL, rows);
+        jdbcTemplate.queryForList(ADD_MEMBERS_SQL, Long.class, groupId, ids.toArray(Long[]::new));
+
+        for (GroupMemberResponse guest : added) {
+            eventPublisher.publishEvent(new UserSavedEvent(guest.id(), guest.email(), guest.name(), null, true));
+            eventPublisher.publishEvent(new GroupMembershipChangedEvent(groupId, guest.id(), true));
+        }
+        return added;
+    }
+
     @Transactional
     public void removeMember(Long groupId, Long userId, Long requesterId) {
         Group group = groupRepository.findById(groupId)
@@ -96,6 +210,7 @@ public class GroupService {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Not allowed to remove this member");
         }
         groupRepository.removeMember(groupId, userId);
+        eventPublisher.publishEvent(new GroupMembershipChangedEvent(groupId, userId, false));
     }
 
     @Transactional
@@ -106,6 +221,7 @@ public class GroupService {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only the group creator can delete this group");
         }
         groupRepository.deleteById(groupId);
+        eventPublisher.publishEvent(new GroupMembershipChangedEvent(groupId, null, false));
     }
 
     @Transactional(readOnly = true)
@@ -114,9 +230,11 @@ public class GroupService {
         if (!groupRepository.existsById(groupId)) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Group not found");
         }
-        return groupRepository.searchMembers(groupId, query.trim()).stream()
-                .map(this::toMemberResponse)
-                .toList();
+        return userSearchIndex.searchMembers(groupId, query, UserSearchIndex.DEFAULT_LIMIT);
+    }
+
+    private static String guestEmail() {
+        return "guest_" + UUID.randomUUID().toString().replace("-", "") + "@pickleball.local";
     }
 
     private GroupResponse toGroupResponse(Group g) {
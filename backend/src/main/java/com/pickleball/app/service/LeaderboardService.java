@@ -0,0 +1,297 @@
+package com.pickleball.app.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pickleball.app.dto.LeaderboardEntryResponse;
+import com.pickleball.app.entity.MatchType;
+import com.pickleball.app.repository.GroupRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-group leaderboards served from memory. Each group that has been asked for gets a board
+ * holding its members and one sorted index per metric; a scored match, a rating change or a
+ * membership change moves only the affected players, at O(log n) each. Boards are built on first
+ * request with a single query over the group's members and their {@code player_stats} rows, and
+ * dropped when their source is recomputed wholesale (a rating replay or a stats rebuild).
+ *
+ * <p>Boards live in a bounded cache: at most {@code app.leaderboard.max-groups} of them, each
+ * dropped after {@code app.leaderboard.idle-minutes} without use, and rebuilt on the next request.
+ * Hit and miss counts are published as the {@code cache.*} meters tagged {@code cache=leaderboards}.
+ */
+@Service
+public class LeaderboardService {
+
+    public static final String METRIC_RATING = "rating";
+    public static final String METRIC_WIN_RATE = "winRate";
+
+    private static final String BOARD_SQL = """
+            SELECT u.id, COALESCE(u.name, u.email) AS name,
+                   COALESCE(ps.wins, 0) AS wins, COALESCE(ps.games_played, 0) AS games
+            FROM group_members gm
+            JOIN users u ON u.id = gm.user_id
+            LEFT JOIN player_stats ps ON ps.group_id = gm.group_id AND ps.user_id = gm.user_id
+            WHERE gm.group_id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final GroupRepository groupRepository;
+    private final RatingService ratingService;
+
+    private final Cache<Long, GroupLeaderboard> boards;
+    /** Bumped by every update so a board built concurrently with one is not cached stale. */
+    private final AtomicLong generation = new AtomicLong();
+
+    public LeaderboardService(JdbcTemplate jdbcTemplate,
+                              GroupRepository groupRepository,
+                              RatingService ratingService,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.leaderboard.max-groups:1000}") long maxGroups,
+                              @Value("${app.leaderboard.idle-minutes:30}") long idleMinutes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.groupRepository = groupRepository;
+        this.ratingService = ratingService;
+        this.boards = Caffeine.newBuilder()
+                .maximumSize(maxGroups)
+                .expireAfterAccess(Duration.ofMinutes(idleMinutes))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, boards, "leaderboards");
+    }
+
+    public List<LeaderboardEntryResponse> getLeaderboard(Long groupId, String metric, MatchType matchType, int limit) {
+        GroupLeaderboard board = boards.getIfPresent(groupId);
+        if (board == null) {
+            board = build(groupId);
+        }
+        return board.top(metric, matchType, limit);
+    }
+
+    /** Runs after the match commits, so the re-read sees the updated {@code player_stats} rows. */
+    @TransactionalEventListener
+    public void onMatchScored(MatchScoredEvent event) {
+        generation.incrementAndGet();
+        if (event.groupId() == null) return;
+        GroupLeaderboard board = boards.asMap().get(event.groupId());
+        if (board == null) return;
+
+        List<Long> players = new ArrayList<>(event.teamOneIds());
+        players.addAll(event.teamTwoIds());
+        String in = String.join(",", players.stream().map(id -> "?").toList());
+        List<Object> args = new ArrayList<>(players.size() + 1);
+        args.add(event.groupId());
+        args.addAll(players);
+        jdbcTemplate.query(
+                "SELECT user_id, wins, games_played FROM player_stats WHERE group_id = ? AND user_id IN (" + in + ")",
+                rs -> { board.updateRecord(rs.getLong(1), rs.getInt(2), rs.getInt(3)); },
+                args.toArray());
+    }
+
+    @EventListener
+    public void onRatingsChanged(RatingsChangedEvent event) {
+        generation.incrementAndGet();
+        if (event.isFullReplay()) {
+            boards.invalidateAll();
+            return;
+        }
+        if (event.userIds().isEmpty() || boards.estimatedSize() == 0) return;
+        // Only the boards of groups the players belong to, not every cached board
+        String in = String.join(",", event.userIds().stream().map(id -> "?").toList());
+        Map<Long, List<Long>> groupsByUser = new HashMap<>();
+        jdbcTemplate.query("SELECT user_id, group_id FROM group_members WHERE user_id IN (" + in + ")",
+                rs -> { groupsByUser.computeIfAbsent(rs.getLong(1), k -> new ArrayList<>()).add(rs.getLong(2)); },
+                event.userIds().toArray());
+        groupsByUser.forEach((userId, groupIds) -> {
+            double rating = ratingService.currentRating(userId, event.matchType());
+            int games = ratingService.gamesPlayed(userId, event.matchType());
+            for (Long groupId : groupIds) {
+                GroupLeaderboard board = boards.asMap().get(groupId);
+                if (board != null) board.updateRating(userId, event.matchType(), rating, games);
+            }
+        });
+    }
+
+    @EventListener
+    public void onStatsRebuilt(StatsRebuiltEvent event) {
+        generation.incrementAndGet();
+        boards.invalidateAll(event.groupIds());
+    }
+
+    @TransactionalEventListener
+    public void onMembershipChanged(GroupMembershipChangedEvent event) {
+        generation.incrementAndGet();
+        if (event.isGroupDeleted()) {
+            boards.invalidate(event.groupId());
+            return;
+        }
+        GroupLeaderboard board = boards.asMap().get(event.groupId());
+        if (board == null) return;
+        board.remove(event.userId());
+        if (event.added()) {
+            jdbcTemplate.query(BOARD_SQL + " AND gm.user_id = ?",
+                    rs -> { board.add(readMember(rs)); },
+                    event.groupId(), event.userId());
+        }
+    }
+
+    /** Keeps cached display names current after a profile edit. */
+    public void onPlayerRenamed(Long userId, String name) {
+        generation.incrementAndGet();
+        for (GroupLeaderboard board : boards.asMap().values()) {
+            board.rename(userId, name);
+        }
+    }
+
+    private GroupLeaderboard build(Long groupId) {
+        long startGeneration = generation.get();
+        if (!groupRepository.existsById(groupId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Group not found");
+        }
+        GroupLeaderboard board = new GroupLeaderboard();
+        jdbcTemplate.query(BOARD_SQL, rs -> { board.add(readMember(rs)); }, groupId);
+        if (generation.get() == startGeneration) {
+            GroupLeaderboard existing = boards.asMap().putIfAbsent(groupId, board);
+            return existing != null ? existing : board;
+        }
+        return board;
+    }
+
+    private Member readMember(ResultSet rs) throws SQLException {
+        long userId = rs.getLong(1);
+        return new Member(userId, rs.getString(2), rs.getInt(3), rs.getInt(4),
+                ratingService.currentRating(userId, MatchType.SINGLES),
+                ratingService.gamesPlayed(userId, MatchType.SINGLES),
+                ratingService.currentRating(userId, MatchType.DOUBLES),
+                ratingService.gamesPlayed(userId, MatchType.DOUBLES));
+    }
+
+    private static final class Member {
+        final long userId;
+        String name;
+        int wins;
+        int games;
+        double singlesRating;
+        int singlesGames;
+        double doublesRating;
+        int doublesGames;
+
+        Member(long userId, String name, int wins, int games,
+               double singlesRating, int singlesGames, double doublesRating, int doublesGames) {
+            this.userId = userId;
+            this.name = name;
+            this.wins = wins;
+            this.games = games;
+            this.singlesRating = singlesRating;
+            this.singlesGames = singlesGames;
+            this.doublesRating = doublesRating;
+            this.doublesGames = doublesGames;
+        }
+
+        double winRate() {
+            return games == 0 ? 0.0 : 100.0 * wins / games;
+        }
+    }
+
+    /** Highest score first; ties broken by user id so ranks are stable. */
+    private record Ranked(double score, long userId) {
+        static final Comparator<Ranked> ORDER = Comparator.comparingDouble(Ranked::score).reversed()
+                .thenComparingLong(Ranked::userId);
+    }
+
+    /**
+     * One group's members plus a sorted index per metric. Only players with at least one game in a
+     * metric appear in its index. All access goes through the board's monitor.
+     */
+    private static final class GroupLeaderboard {
+        private final Map<Long, Member> members = new HashMap<>();
+        private final NavigableSet<Ranked> bySinglesRating = new TreeSet<>(Ranked.ORDER);
+        private final NavigableSet<Ranked> byDoublesRating = new TreeSet<>(Ranked.ORDER);
+        private final NavigableSet<Ranked> byWinRate = new TreeSet<>(Ranked.ORDER);
+
+        synchronized void add(Member m) {
+            members.put(m.userId, m);
+            index(m);
+        }
+
+        synchronized void remove(long userId) {
+            Member m = members.remove(userId);
+            if (m != null) unindex(m);
+        }
+
+        synchronized void updateRecord(long userId, int wins, int games) {
+            Member m = members.get(userId);
+            if (m == null) return;
+            if (m.games > 0) byWinRate.remove(new Ranked(m.winRate(), userId));
+            m.wins = wins;
+            m.games = games;
+            if (m.games > 0) byWinRate.add(new Ranked(m.winRate(), userId));
+        }
+
+        synchronized void updateRating(long userId, MatchType matchType, double rating, int games) {
+            Member m = members.get(userId);
+            if (m == null) return;
+            if (matchType == MatchType.SINGLES) {
+                if (m.singlesGames > 0) bySinglesRating.remove(new Ranked(m.singlesRating, userId));
+                m.singlesRating = rating;
+                m.singlesGames = games;
+                if (games > 0) bySinglesRating.add(new Ranked(rating, userId));
+            } else {
+                if (m.doublesGames > 0) byDoublesRating.remove(new Ranked(m.doublesRating, userId));
+                m.doublesRating = rating;
+                m.doublesGames = games;
+                if (games > 0) byDoublesRating.add(new Ranked(rating, userId));
+            }
+        }
+
+        synchronized void rename(long userId, String name) {
+            Member m = members.get(userId);
+            if (m != null) m.name = name;
+        }
+
+        synchronized List<LeaderboardEntryResponse> top(String metric, MatchType matchType, int limit) {
+            boolean winRate = METRIC_WIN_RATE.equals(metric);
+            NavigableSet<Ranked> index = winRate ? byWinRate
+                    : matchType == MatchType.SINGLES ? bySinglesRating : byDoublesRating;
+            List<LeaderboardEntryResponse> result = new ArrayList<>(Math.min(limit, index.size()));
+            for (Ranked r : index) {
+                if (result.size() == limit) break;
+                Member m = members.get(r.userId());
+                int games = winRate ? m.games
+                        : matchType == MatchType.SINGLES ? m.singlesGames : m.doublesGames;
+                result.add(new LeaderboardEntryResponse(result.size() + 1, m.userId, m.name, r.score(), games));
+            }
+            return result;
+        }
+
+        private void index(Member m) {
+            if (m.games > 0) byWinRate.add(new Ranked(m.winRate(), m.userId));
+            if (m.singlesGames > 0) bySinglesRating.add(new Ranked(m.singlesRating, m.userId));
+            if (m.doublesGames > 0) byDoublesRating.add(new Ranked(m.doublesRating, m.userId));
+        }
+
+        private void unindex(Member m) {
+            byWinRate.remove(new Ranked(m.winRate(), m.userId));
+            bySinglesRating.remove(new Ranked(m.singlesRating, m.userId));
+            byDoublesRating.remove(new Ranked(m.doublesRating, m.userId));
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.pickleball.app.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pickleball.app.entity.Role;
+import com.pickleball.app.entity.User;
+import com.pickleball.app.repository.GroupRepository;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams a group's match history as CSV or NDJSON. Rows come from a forward-only JDBC cursor
+ * (a fetch size inside a read-only transaction makes the Postgres driver page through a server-side
+ * portal) and are written to the response as they arrive, so memory use is one fetch window no
+ * matter how long the history is. The column layout matches what {@link MatchImportService} reads,
+ * but players are written as user ids and the importer only accepts members of the target group,
+ * so an export re-imports only into a group that contains the same players.
+ */
+@Service
+public class MatchExportService {
+
+    public static final String FORMAT_CSV = MatchImportService.FORMAT_CSV;
+    public static final String FORMAT_NDJSON = MatchImportService.FORMAT_NDJSON;
+
+    private static final int FETCH_SIZE = 1_000;
+
+    private static final String CSV_HEADER = "matchType,teamOne,teamTwo,teamOneScore,teamTwoScore,matchDate,id\n";
+
+    private static final String EXPORT_SQL = """
+            SELECT m.id, m.match_type, m.team_one_score, m.team_two_score, m.match_date,
+                   (SELECT string_agg(t1.user_id::text, ';' ORDER BY t1.user_id)
+                      FROM match_team_one_players t1 WHERE t1.match_id = m.id) AS team_one,
+                   (SELECT string_agg(t2.user_id::text, ';' ORDER BY t2.user_id)
+                      FROM match_team_two_players t2 WHERE t2.match_id = m.id) AS team_two
+            FROM matches m
+            WHERE m.group_id = ?
+            """;
+
+    private final GroupRepository groupRepository;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate readOnlyTxTemplate;
+    private final ObjectMapper objectMapper;
+
+    public MatchExportService(GroupRepository groupRepository,
+                              JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              ObjectMapper objectMapper) {
+        this.groupRepository = groupRepository;
+        this.streamingJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.streamingJdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.readOnlyTxTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTxTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Checks access up front, so errors surface as a status code, and returns a body that runs
+     * the query only once the response starts streaming.
+     */
+    public StreamingResponseBody export(Long groupId, User currentUser, String format,
+                                        LocalDateTime from, LocalDateTime to) {
+        if (!groupRepository.existsById(groupId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Group not found");
+        }
+        if (currentUser.getRole() != Role.ADMIN && !groupRepository.isMember(groupId, currentUser.getId())) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only group members can export matches");
+        }
+        boolean csv = FORMAT_CSV.equals(format);
+        Timestamp fromTs = from != null ? Timestamp.valueOf(from) : null;
+        Timestamp toTs = to != null ? Timestamp.valueOf(to) : null;
+        return out -> readOnlyTxTemplate.executeWithoutResult(status -> {
+            try {
+                if (csv) writeCsv(out, groupId, fromTs, toTs);
+                else writeNdjson(out, groupId, fromTs, toTs);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void writeCsv(OutputStream out, Long groupId, Timestamp from, Timestamp to) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        query(groupId, from, to, rs -> {
+            writer.write(rs.getString(2) != null ? rs.getString(2) : "");
+            writer.write(',');
+            writer.write(nullToEmpty(rs.getString(6)));
+            writer.write(',');
+            writer.write(nullToEmpty(rs.getString(7)));
+            writer.write(',');
+            writer.write(nullToEmpty(rs.getString(3)));
+            writer.write(',');
+            writer.write(nullToEmpty(rs.getString(4)));
+            writer.write(',');
+            writer.write(rs.getTimestamp(5).toLocalDateTime().toString());
+            writer.write(',');
+            writer.write(Long.toString(rs.getLong(1)));
+            writer.write('\n');
+        });
+        writer.flush();
+    }
+
+    private void writeNdjson(OutputStream out, Long groupId, Timestamp from, Timestamp to) throws IOException {
+        JsonGenerator gen = ndjsonGenerator(objectMapper, out);
+        query(groupId, from, to, rs -> {
+            int one = rs.getInt(3);
+            Integer teamOneScore = rs.wasNull() ? null : one;
+            int two = rs.getInt(4);
+            Integer teamTwoScore = rs.wasNull() ? null : two;
+            writeNdjsonRow(gen, rs.getLong(1), rs.getString(2), rs.getString(6), rs.getString(7),
+                    teamOneScore, teamTwoScore, rs.getTimestamp(5).toLocalDateTime());
+        });
+        gen.flush();
+    }
+
+    /**
+     * A generator for one JSON object per line. Jackson separates root values with a space by
+     * default, which would start every line after the first with one; rows end in {@code \n} instead.
+     */
+    static JsonGenerator ndjsonGenerator(ObjectMapper objectMapper, OutputStream out) throws IOException {
+        JsonGenerator gen = objectMapper.getFactory().createGenerator(out);
+        gen.setRootValueSeparator(null);
+        return gen;
+    }
+
+    /** Writes one NDJSON line; {@code teamOne}/{@code teamTwo} are {@code ;}-separated user ids. */
+    static void writeNdjsonRow(JsonGenerator gen, long id, String matchType, String teamOne, String teamTwo,
+                               Integer teamOneScore, Integer teamTwoScore, LocalDateTime matchDate) throws IOException {
+        gen.writeStartObject();
+        gen.writeNumberField("id", id);
+        gen.writeStringField("matchType", matchType);
+        writeTeam(gen, "teamOne", teamOne);
+        writeTeam(gen, "teamTwo", teamTwo);
+        if (teamOneScore == null) gen.writeNullField("teamOneScore"); else gen.writeNumberField("teamOneScore", teamOneScore);
+        if (teamTwoScore == null) gen.writeNullField("teamTwoScore"); else gen.writeNumberField("teamTwoScore", teamTwoScore);
+        gen.writeStringField("matchDate", matchDate.toString());
+        gen.writeEndObject();
+        gen.writeRaw('\n');
+    }
+
+    private static void writeTeam(JsonGenerator gen, String field, String ids) throws IOException {
+        gen.writeArrayFieldStart(field);
+        if (ids != null) {
+            for (String id : ids.split(";")) gen.writeNumber(Long.parseLong(id));
+        }
+        gen.writeEndArray();
+    }
+
+    private void query(Long groupId, Timestamp from, Timestamp to, RowWriter writer) {
+        StringBuilder sql = new StringBuilder(EXPORT_SQL);
+        List<Object> args = new ArrayList<>(3);
+        args.add(groupId);
+        if (from != null) {
+            sql.append(" AND m.match_date >= ?");
+            args.add(from);
+        }
+        if (to != null) {
+            sql.append(" AND m.match_date < ?");
+            args.add(to);
+        }
+        sql.append(" ORDER BY m.match_date, m.id");
+        streamingJdbcTemplate.query(sql.toString(), rs -> {
+            try {
+                writer.write(rs);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, args.toArray());
+    }
+
+    private static String nullToEmpty(String s) {
+        return s != null ? s : "";
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(ResultSet rs) throws SQLException, IOException;
+    }
+}
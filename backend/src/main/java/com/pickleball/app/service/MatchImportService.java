@@ -0,0 +1,344 @@
+package com.pickleball.app.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.pickleball.app.dto.MatchImportError;
+import com.pickleball.app.dto.MatchImportResponse;
+import com.pickleball.app.dto.MatchImportRow;
+import com.pickleball.app.entity.MatchType;
+import com.pickleball.app.entity.Role;
+import com.pickleball.app.entity.User;
+import com.pickleball.app.repository.GroupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk match import from CSV or NDJSON. The upload is read one line at a time; valid rows are
+ * collected into batches of {@value #BATCH_SIZE} and written with JDBC batch inserts, each batch in
+ * its own transaction, so a 100k-row file never sits in memory and a bad row only rejects itself.
+ *
+ * <p>The group's members are loaded once up front and every row is validated against that set.
+ * Match ids are taken from the table's sequence in one round trip per batch, which lets the team
+ * join rows be batched alongside the matches. Head-to-head records are summed per batch and written
+ * in the same transaction. Imported history can be older than existing matches, so stats for the
+ * group are rebuilt and ratings replayed once the import finishes rather than updated per row.
+ *
+ * <p>CSV columns: {@code matchType,teamOne,teamTwo,teamOneScore,teamTwoScore,matchDate}, with the
+ * players of a team separated by {@code ;} or {@code |}. A header line is optional.
+ */
+@Service
+public class MatchImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(MatchImportService.class);
+
+    public static final String FORMAT_CSV = "csv";
+    public static final String FORMAT_NDJSON = "ndjson";
+
+    private static final int BATCH_SIZE = 1_000;
+    private static final int MAX_REPORTED_ERRORS = 500;
+
+    private static final String INSERT_MATCH_SQL = """
+            INSERT INTO matches (id, group_id, match_type, score, team_one_score, team_two_score, match_date)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+    private static final String INSERT_TEAM_ONE_SQL =
+            "INSERT INTO match_team_one_players (match_id, user_id) VALUES (?, ?)";
+    private static final String INSERT_TEAM_TWO_SQL =
+            "INSERT INTO match_team_two_players (match_id, user_id) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final GroupRepository groupRepository;
+    private final StatsService statsService;
+    private final PairStatsService pairStatsService;
+    private final RatingService ratingService;
+    private final TransactionTemplate txTemplate;
+    private final ObjectReader rowReader;
+
+    public MatchImportService(JdbcTemplate jdbcTemplate,
+                              GroupRepository groupRepository,
+                              StatsService statsService,
+                              PairStatsService pairStatsService,
+                              RatingService ratingService,
+                              PlatformTransactionManager transactionManager,
+                              ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.groupRepository = groupRepository;
+        this.statsService = statsService;
+        this.pairStatsService = pairStatsService;
+        this.ratingService = ratingService;
+        this.txTemplate = new TransactionTemplate(transactionManager);
+        this.rowReader = objectMapper.readerFor(MatchImportRow.class);
+    }
+
+    public MatchImportResponse importMatches(Long groupId, User currentUser, String format, InputStream body) {
+        long start = System.nanoTime();
+        if (!groupRepository.existsById(groupId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Group not found");
+        }
+        Members members = loadMembers(groupId);
+        if (currentUser.getRole() != Role.ADMIN && !members.ids.contains(currentUser.getId())) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only group members can import matches");
+        }
+        boolean csv = FORMAT_CSV.equals(format);
+
+        long rowsRead = 0;
+        long imported = 0;
+        long rejected = 0;
+        List<MatchImportError> errors = new ArrayList<>();
+        List<ValidRow> batch = new ArrayList<>(BATCH_SIZE);
+
+        // Each flush commits on its own, so whatever was written is folded into stats and ratings
+        // even when a later read or flush fails
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String line;
+            long lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) continue;
+                if (csv && lineNumber == 1 && line.trim().toLowerCase(Locale.ROOT).startsWith("matchtype")) continue;
+                rowsRead++;
+                try {
+                    MatchImportRow row = csv ? parseCsv(line) : parseJson(line);
+                    batch.add(validate(row, members));
+                } catch (IllegalArgumentException e) {
+                    rejected++;
+                    if (errors.size() < MAX_REPORTED_ERRORS) {
+                        errors.add(new MatchImportError(lineNumber, e.getMessage()));
+                    }
+                    continue;
+                }
+                if (batch.size() == BATCH_SIZE) {
+                    imported += flush(groupId, batch);
+                    batch.clear();
+                }
+            }
+            imported += flush(groupId, batch);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            if (imported > 0) {
+                statsService.rebuildGroups(List.of(groupId));
+                ratingService.requestReplay();
+            }
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        log.info("Imported {} of {} matches into group {} ({} rejected) in {} ms",
+                imported, rowsRead, groupId, rejected, elapsedMs);
+        return new MatchImportResponse(rowsRead, imported, rejected, errors, elapsedMs);
+    }
+
+    private int flush(Long groupId, List<ValidRow> batch) {
+        if (batch.isEmpty()) return 0;
+        Integer written = txTemplate.execute(status -> {
+            List<Long> ids = jdbcTemplate.queryForList(
+                    "SELECT nextval(pg_get_serial_sequence('matches', 'id')) FROM generate_series(1, ?)",
+                    Long.class, batch.size());
+
+            List<Object[]> matchRows = new ArrayList<>(batch.size());
+            List<Object[]> teamOneRows = new ArrayList<>(batch.size() * 2);
+            List<Object[]> teamTwoRows = new ArrayList<>(batch.size() * 2);
+            PairStatsService.PairDeltas pairDeltas = new PairStatsService.PairDeltas();
+            for (int i = 0; i < batch.size(); i++) {
+                ValidRow r = batch.get(i);
+                Long id = ids.get(i);
+                matchRows.add(new Object[]{
+                        id, groupId, r.matchType.name(),
+                        r.score != null ? r.score.toString() : null,
+                        r.score != null ? r.score.teamOne() : null,
+                        r.score != null ? r.score.teamTwo() : null,
+                        Timestamp.valueOf(r.matchDate)});
+                for (Long userId : r.teamOne) teamOneRows.add(new Object[]{id, userId});
+                for (Long userId : r.teamTwo) teamTwoRows.add(new Object[]{id, userId});
+                if (r.score != null) {
+                    pairDeltas.add(r.teamOne, r.teamTwo, r.score.teamOne(), r.score.teamTwo(), 1);
+                }
+            }
+            jdbcTemplate.batchUpdate(INSERT_MATCH_SQL, matchRows);
+            jdbcTemplate.batchUpdate(INSERT_TEAM_ONE_SQL, teamOneRows);
+            jdbcTemplate.batchUpdate(INSERT_TEAM_TWO_SQL, teamTwoRows);
+            pairStatsService.apply(pairDeltas);
+            return batch.size();
+        });
+        return written != null ? written : 0;
+    }
+
+    private ValidRow validate(MatchImportRow row, Members members) {
+        if (row.matchType() == null) throw new IllegalArgumentException("matchType is required");
+        MatchType matchType;
+        try {
+            matchType = MatchType.valueOf(row.matchType().trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown matchType: " + row.matchType());
+        }
+
+        int expectedTeamSize = matchType == MatchType.SINGLES ? 1 : 2;
+        List<Long> teamOne = resolvePlayers(row.teamOne(), members);
+        List<Long> teamTwo = resolvePlayers(row.teamTwo(), members);
+        if (teamOne.size() != expectedTeamSize || teamTwo.size() != expectedTeamSize) {
+            throw new IllegalArgumentException("Invalid team size for " + matchType.name().toLowerCase(Locale.ROOT));
+        }
+        Set<Long> unique = new HashSet<>(teamOne);
+        unique.addAll(teamTwo);
+        if (unique.size() != expectedTeamSize * 2) {
+            throw new IllegalArgumentException("Each player must be unique in a match");
+        }
+
+        MatchScore score = null;
+        if (row.teamOneScore() != null && row.teamTwoScore() != null) {
+            if (row.teamOneScore() < 0 || row.teamTwoScore() < 0) {
+                throw new IllegalArgumentException("Scores cannot be negative");
+            }
+            score = new MatchScore(row.teamOneScore(), row.teamTwoScore());
+        } else if (row.score() != null && !row.score().isBlank()) {
+            score = MatchScore.parse(row.score());
+            if (score == null) throw new IllegalArgumentException("Invalid score: " + row.score());
+        }
+
+        return new ValidRow(matchType, teamOne, teamTwo, score, parseDate(row.matchDate()));
+    }
+
+    private static List<Long> resolvePlayers(List<String> refs, Members members) {
+        if (refs == null) return List.of();
+        List<Long> ids = new ArrayList<>(refs.size());
+        for (String ref : refs) {
+            String key = ref == null ? "" : ref.trim();
+            if (key.isEmpty()) continue;
+            Long id = null;
+            if (key.chars().allMatch(Character::isDigit)) {
+                try {
+                    long parsed = Long.parseLong(key);
+                    if (members.ids.contains(parsed)) id = parsed;
+                } catch (NumberFormatException ignored) {
+                    // too long to be an id; reported below as not a member
+                }
+            } else {
+                id = members.byEmail.get(key.toLowerCase(Locale.ROOT));
+            }
+            if (id == null) throw new IllegalArgumentException("Player is not a member of the group: " + key);
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    private static LocalDateTime parseDate(String text) {
+        if (text == null || text.isBlank()) return LocalDateTime.now();
+        String trimmed = text.trim();
+        try {
+            return trimmed.length() <= 10
+                    ? LocalDate.parse(trimmed).atStartOfDay()
+                    : LocalDateTime.parse(trimmed);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid matchDate: " + text);
+        }
+    }
+
+    private MatchImportRow parseJson(String line) {
+        try {
+            MatchImportRow row = rowReader.readValue(line);
+            if (row == null) throw new IllegalArgumentException("Expected a JSON object, got null");
+            return row;
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private static MatchImportRow parseCsv(String line) {
+        List<String> fields = splitCsv(line);
+        if (fields.size() < 3) {
+            throw new IllegalArgumentException("Expected matchType,teamOne,teamTwo[,teamOneScore,teamTwoScore[,matchDate]]");
+        }
+        Integer one = null;
+        Integer two = null;
+        try {
+            if (fields.size() > 4 && !fields.get(3).isBlank() && !fields.get(4).isBlank()) {
+                one = Integer.valueOf(fields.get(3).trim());
+                two = Integer.valueOf(fields.get(4).trim());
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Scores must be whole numbers");
+        }
+        return new MatchImportRow(
+                fields.get(0),
+                List.of(fields.get(1).split("[;|]")),
+                List.of(fields.get(2).split("[;|]")),
+                one, two, null,
+                fields.size() > 5 ? fields.get(5) : null);
+    }
+
+    /** Splits one CSV line, honouring double-quoted fields and "" escapes. */
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>(6);
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    private Members loadMembers(Long groupId) {
+        Members members = new Members();
+        jdbcTemplate.query("""
+                SELECT u.id, u.email
+                FROM group_members gm
+                JOIN users u ON u.id = gm.user_id
+                WHERE gm.group_id = ?
+                """, rs -> {
+            long id = rs.getLong(1);
+            members.ids.add(id);
+            members.byEmail.put(rs.getString(2).toLowerCase(Locale.ROOT), id);
+        }, groupId);
+        return members;
+    }
+
+    private static final class Members {
+        final Set<Long> ids = new HashSet<>();
+        final Map<String, Long> byEmail = new HashMap<>();
+    }
+
+    private record ValidRow(MatchType matchType, List<Long> teamOne, List<Long> teamTwo,
+                            MatchScore score, LocalDateTime matchDate) {}
+}
@@ -0,0 +1,24 @@
+package com.pickleball.app.service;
+
+/** A parsed "teamOne-teamTwo" score, e.g. "11-7". */
+public record MatchScore(int teamOne, int teamTwo) {
+
+    /** Returns null when the text is missing or not of the form "n-m". */
+    public static MatchScore parse(String text) {
+        if (text == null) return null;
+        int dash = text.indexOf('-');
+        if (dash <= 0 || dash == text.length() - 1) return null;
+        try {
+            int one = Integer.parseInt(text.substring(0, dash).trim());
+            int two = Integer.parseInt(text.substring(dash + 1).trim());
+            return one < 0 || two < 0 ? null : new MatchScore(one, two);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return teamOne + "-" + teamTwo;
+    }
+}
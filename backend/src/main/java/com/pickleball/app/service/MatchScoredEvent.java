@@ -0,0 +1,27 @@
+package com.pickleball.app.service;
+
+import com.pickleball.app.entity.MatchType;
+
+import java.util.List;
+
+/**
+ * Published inside the write transaction whenever a match gets a result or its result changes.
+ * {@code previousTeamOneScore}/{@code previousTeamTwoScore} are null when the match had no score
+ * before, so listeners can tell a first result from a correction.
+ */
+public record MatchScoredEvent(
+        Long matchId,
+        Long groupId,
+        MatchType matchType,
+        List<Long> teamOneIds,
+        List<Long> teamTwoIds,
+        int teamOneScore,
+        int teamTwoScore,
+        Integer previousTeamOneScore,
+        Integer previousTeamTwoScore
+) {
+
+    public boolean isCorrection() {
+        return previousTeamOneScore != null && previousTeamTwoScore != null;
+    }
+}
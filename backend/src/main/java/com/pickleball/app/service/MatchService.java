@@ -0,0 +1,306 @@
+package com.pickleball.app.service;
+
+import com.pickleball.app.dto.BatchScoreItem;
+import com.pickleball.app.dto.BatchScoreResult;
+import com.pickleball.app.dto.CreateMatchRequest;
+import com.pickleball.app.dto.MatchCursor;
+import com.pickleball.app.dto.MatchPageResponse;
+import com.pickleball.app.dto.MatchPlayerRow;
+import com.pickleball.app.dto.MatchResponse;
+import com.pickleball.app.dto.MatchRow;
+import com.pickleball.app.dto.PlayerSummary;
+import com.pickleball.app.entity.Match;
+import com.pickleball.app.entity.MatchType;
+import com.pickleball.app.entity.User;
+import com.pickleball.app.repository.GroupRepository;
+import com.pickleball.app.repository.MatchRepository;
+import com.pickleball.app.repository.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Match writes and reads. Writes publish a {@link MatchScoredEvent} whenever a result is recorded,
+ * which is how ratings and statistics stay in step with match history.
+ * Responses are assembled from scalar projections — one query for the match rows and one per
+ * team join table — so N matches cost three statements and never touch the group's member set.
+ */
+@Service
+public class MatchService {
+
+    private final MatchRepository matchRepository;
+    private final GroupRepository groupRepository;
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+
+    public MatchService(MatchRepository matchRepository,
+                        GroupRepository groupRepository,
+                        UserRepository userRepository,
+                        ApplicationEventPublisher eventPublisher,
+                        JdbcTemplate jdbcTemplate) {
+        this.matchRepository = matchRepository;
+        this.groupRepository = groupRepository;
+        this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Validates membership with one indexed count over {@code group_members} and loads both teams
+     * with one query; the group itself is only referenced, never loaded, so the cost of recording
+     * a match does not depend on the size of the group.
+     */
+    @Transactional
+    public MatchResponse createMatch(CreateMatchRequest request) {
+        if (!groupRepository.existsById(request.groupId())) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Group not found");
+        }
+
+        int expectedTeamSize = request.matchType() == MatchType.SINGLES ? 1 : 2;
+        if (request.teamOneUserIds().size() != expectedTeamSize
+                || request.teamTwoUserIds().size() != expectedTeamSize) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Invalid team size for " + request.matchType().name().toLowerCase());
+        }
+
+        Set<Long> uniquePlayerIds = new HashSet<>();
+        uniquePlayerIds.addAll(request.teamOneUserIds());
+        uniquePlayerIds.addAll(request.teamTwoUserIds());
+
+        int requiredUniquePlayers = expectedTeamSize * 2;
+        if (uniquePlayerIds.size() != requiredUniquePlayers) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Each player must be unique in a match");
+        }
+
+        if (groupRepository.countMembers(request.groupId(), uniquePlayerIds) != requiredUniquePlayers) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "All selected users must be members of the group");
+        }
+
+        Map<Long, User> players = new HashMap<>();
+        for (User u : userRepository.findAllById(uniquePlayerIds)) {
+            players.put(u.getId(), u);
+        }
+        if (players.size() != requiredUniquePlayers) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "One or more selected users were not found");
+        }
+        List<User> teamOne = request.teamOneUserIds().stream().map(players::get).collect(Collectors.toList());
+        List<User> teamTwo = request.teamTwoUserIds().stream().map(players::get).collect(Collectors.toList());
+
+        Match match = new Match();
+        match.setGroup(groupRepository.getReferenceById(request.groupId()));
+        match.setMatchType(request.matchType());
+        match.setTeamOne(teamOne);
+        match.setTeamTwo(teamTwo);
+        match.setMatchDate(LocalDateTime.now());
+
+        MatchScore score = null;
+        if (request.teamOneScore() != null && request.teamTwoScore() != null) {
+            score = validScore(request.teamOneScore(), request.teamTwoScore());
+            applyScore(match, score);
+        }
+
+        Match saved = matchRepository.save(match);
+        if (score != null) {
+            publishScored(saved, score, null);
+        }
+        return getMatch(saved.getId());
+    }
+
+    @Transactional
+    public MatchResponse updateScore(Long id, MatchScore score) {
+        Match existing = matchRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Match not found with id: " + id));
+
+        MatchScore previous = existing.getTeamOneScore() != null && existing.getTeamTwoScore() != null
+                ? new MatchScore(existing.getTeamOneScore(), existing.getTeamTwoScore())
+                : null;
+        applyScore(existing, validScore(score.teamOne(), score.teamTwo()));
+        matchRepository.save(existing);
+
+        if (!score.equals(previous)) {
+            publishScored(existing, score, previous);
+        }
+        return getMatch(id);
+    }
+
+    /**
+     * Applies a list of score updates in one transaction: the matches and their teams are loaded
+     * with three queries, the changed rows are written in one JDBC batch, and each item gets its own
+     * result. A repeated match id is applied in order, so the last entry wins. The match rows are
+     * locked first, so a concurrent correction waits instead of deriving deltas from the same
+     * previous score.
+     */
+    @Transactional
+    public List<BatchScoreResult> updateScores(List<BatchScoreItem> items) {
+        Set<Long> ids = new HashSet<>();
+        for (BatchScoreItem item : items) {
+            if (item != null && item.matchId() != null) ids.add(item.matchId());
+        }
+        Map<Long, MatchRow> rows = new HashMap<>();
+        Map<Long, List<Long>> teamOne = new HashMap<>();
+        Map<Long, List<Long>> teamTwo = new HashMap<>();
+        if (!ids.isEmpty()) {
+            // Lock before reading the previous scores the stats corrections are computed from
+            matchRepository.lockByIds(ids);
+            matchRepository.findRowsByIds(ids).forEach(r -> rows.put(r.id(), r));
+            matchRepository.findTeamOnePlayers(ids).forEach(p ->
+                    teamOne.computeIfAbsent(p.matchId(), k -> new ArrayList<>(2)).add(p.userId()));
+            matchRepository.findTeamTwoPlayers(ids).forEach(p ->
+                    teamTwo.computeIfAbsent(p.matchId(), k -> new ArrayList<>(2)).add(p.userId()));
+        }
+
+        Map<Long, MatchScore> current = new HashMap<>();
+        rows.values().forEach(r -> current.put(r.id(),
+                r.teamOneScore() != null && r.teamTwoScore() != null
+                        ? new MatchScore(r.teamOneScore(), r.teamTwoScore())
+                        : null));
+        Map<Long, MatchScore> changed = new LinkedHashMap<>();
+        String[] outcomes = new String[items.size()];
+        String[] errors = new String[items.size()];
+
+        for (int i = 0; i < items.size(); i++) {
+            BatchScoreItem item = items.get(i);
+            MatchRow row = item != null && item.matchId() != null ? rows.get(item.matchId()) : null;
+            if (item == null || item.matchId() == null || item.teamOneScore() == null || item.teamTwoScore() == null) {
+                outcomes[i] = "INVALID";
+                errors[i] = "matchId, teamOneScore and teamTwoScore are required";
+            } else if (row == null) {
+                outcomes[i] = "NOT_FOUND";
+                errors[i] = "Match not found with id: " + item.matchId();
+            } else if (item.teamOneScore() < 0 || item.teamTwoScore() < 0) {
+                outcomes[i] = "INVALID";
+                errors[i] = "Scores cannot be negative";
+            } else {
+                MatchScore score = new MatchScore(item.teamOneScore(), item.teamTwoScore());
+                MatchScore previous = current.get(row.id());
+                if (score.equals(previous)) {
+                    outcomes[i] = "UNCHANGED";
+                } else {
+                    outcomes[i] = "UPDATED";
+                    current.put(row.id(), score);
+                    changed.put(row.id(), score);
+                    eventPublisher.publishEvent(new MatchScoredEvent(
+                            row.id(), row.groupId(), row.matchType(),
+                            teamOne.getOrDefault(row.id(), List.of()),
+                            teamTwo.getOrDefault(row.id(), List.of()),
+                            score.teamOne(), score.teamTwo(),
+                            previous != null ? previous.teamOne() : null,
+                            previous != null ? previous.teamTwo() : null));
+                }
+            }
+        }
+
+        if (!changed.isEmpty()) {
+            List<Object[]> updates = new ArrayList<>(changed.size());
+            changed.forEach((id, score) -> updates.add(new Object[]{
+                    score.teamOne(), score.teamTwo(), score.toString(), id}));
+            jdbcTemplate.batchUpdate(
+                    "UPDATE matches SET team_one_score = ?, team_two_score = ?, score = ? WHERE id = ?", updates);
+        }
+
+        Map<Long, MatchResponse> responses = new HashMap<>();
+        if (!rows.isEmpty()) {
+            toResponses(matchRepository.findRowsByIds(rows.keySet())).forEach(m -> responses.put(m.id(), m));
+        }
+        List<BatchScoreResult> results = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            Long matchId = items.get(i) != null ? items.get(i).matchId() : null;
+            results.add(new BatchScoreResult(matchId, outcomes[i], errors[i],
+                    errors[i] == null ? responses.get(matchId) : null));
+        }
+        return results;
+    }
+
+    /**
+     * Returns one newest-first page of the viewer's match history. One extra row is fetched
+     * to learn whether another page exists, so no count query is needed.
+     */
+    @Transactional(readOnly = true)
+    public MatchPageResponse getHistory(Long viewerId, Long groupId, Long playerId,
+                                       LocalDateTime from, LocalDateTime to,
+                                       MatchCursor after, int size) {
+        List<MatchRow> rows = matchRepository.findHistoryPage(
+                viewerId, groupId, playerId, from, to,
+                after != null ? after.matchDate() : null,
+                after != null ? after.id() : null,
+                PageRequest.of(0, size + 1));
+
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            MatchRow last = rows.get(size - 1);
+            nextCursor = new MatchCursor(last.matchDate(), last.id()).encode();
+        }
+        return new MatchPageResponse(toResponses(rows), nextCursor);
+    }
+
+    @Transactional(readOnly = true)
+    public MatchResponse getMatch(Long id) {
+        MatchRow row = matchRepository.findRowById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Match not found with id: " + id));
+        return toResponses(List.of(row)).get(0);
+    }
+
+    private static MatchScore validScore(int teamOne, int teamTwo) {
+        if (teamOne < 0 || teamTwo < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Scores cannot be negative");
+        }
+        return new MatchScore(teamOne, teamTwo);
+    }
+
+    private static void applyScore(Match match, MatchScore score) {
+        match.setTeamOneScore(score.teamOne());
+        match.setTeamTwoScore(score.teamTwo());
+        match.setScore(score.toString());
+    }
+
+    private void publishScored(Match match, MatchScore score, MatchScore previous) {
+        eventPublisher.publishEvent(new MatchScoredEvent(
+                match.getId(),
+                match.getGroup() != null ? match.getGroup().getId() : null,
+                match.getMatchType(),
+                match.getTeamOne().stream().map(User::getId).toList(),
+                match.getTeamTwo().stream().map(User::getId).toList(),
+                score.teamOne(), score.teamTwo(),
+                previous != null ? previous.teamOne() : null,
+                previous != null ? previous.teamTwo() : null));
+    }
+
+    private List<MatchResponse> toResponses(List<MatchRow> rows) {
+        if (rows.isEmpty()) return List.of();
+        List<Long> ids = rows.stream().map(MatchRow::id).toList();
+        Map<Long, List<PlayerSummary>> teamOne = groupByMatch(matchRepository.findTeamOnePlayers(ids));
+        Map<Long, List<PlayerSummary>> teamTwo = groupByMatch(matchRepository.findTeamTwoPlayers(ids));
+        return rows.stream()
+                .map(r -> new MatchResponse(
+                        r.id(), r.groupId(), r.groupName(), r.matchType(),
+                        teamOne.getOrDefault(r.id(), List.of()),
+                        teamTwo.getOrDefault(r.id(), List.of()),
+                        r.score(), r.teamOneScore(), r.teamTwoScore(), r.matchDate()))
+                .toList();
+    }
+
+    private Map<Long, List<PlayerSummary>> groupByMatch(List<MatchPlayerRow> players) {
+        Map<Long, List<PlayerSummary>> byMatch = new HashMap<>();
+        for (MatchPlayerRow p : players) {
+            byMatch.computeIfAbsent(p.matchId(), k -> new ArrayList<>(2))
+                    .add(new PlayerSummary(p.userId(), p.name()));
+        }
+        return byMatch;
+    }
+}
@@ -0,0 +1,206 @@
+package com.pickleball.app.service;
+
+import com.pickleball.app.dto.HeadToHeadResponse;
+import com.pickleball.app.dto.PairRecord;
+import com.pickleball.app.dto.PairStatsView;
+import com.pickleball.app.entity.PairRelation;
+import com.pickleball.app.repository.PairStatsRepository;
+import com.pickleball.app.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Head-to-head and partner records, served from the materialized {@code pair_stats} table so a
+ * lookup is one unique-index probe per pair.
+ *
+ * <p>Like player stats, the table is kept current inside the match write transaction: a scored
+ * match adds one game to each of its pairs (one for singles; two partner and four opponent pairs
+ * for doubles), and a correction swaps the old result's contribution for the new one.
+ *
+ * <p>A full rebuild works through ranges of {@value #REBUILD_CHUNK_PLAYERS} player ids, each
+ * range's rows deleted and recomputed in its own short transaction, so match writes only ever
+ * wait on the few rows of one range instead of a table-wide lock for the whole rebuild.
+ */
+@Service
+public class PairStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(PairStatsService.class);
+
+    static final int REBUILD_CHUNK_PLAYERS = 500;
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO pair_stats (player_a, player_b, relation, games_played, wins, losses,
+                                    points_for, points_against, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, now())
+            ON CONFLICT (player_a, player_b, relation) DO UPDATE SET
+                games_played   = pair_stats.games_played   + EXCLUDED.games_played,
+                wins           = pair_stats.wins           + EXCLUDED.wins,
+                losses         = pair_stats.losses         + EXCLUDED.losses,
+                points_for     = pair_stats.points_for     + EXCLUDED.points_for,
+                points_against = pair_stats.points_against + EXCLUDED.points_against,
+                updated_at     = EXCLUDED.updated_at
+            """;
+
+    private final PairStatsRepository pairStatsRepository;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate txTemplate;
+
+    public PairStatsService(PairStatsRepository pairStatsRepository,
+                            UserRepository userRepository,
+                            JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager) {
+        this.pairStatsRepository = pairStatsRepository;
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.txTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Transactional(readOnly = true)
+    public HeadToHeadResponse getHeadToHead(Long playerId, Long otherId) {
+        if (playerId.equals(otherId)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Choose two different players");
+        }
+        if (userRepository.countByIdIn(List.of(playerId, otherId)) != 2) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found");
+        }
+        boolean flipped = playerId > otherId;
+        PairRecord opponents = new PairRecord(0, 0, 0, 0.0, 0, 0);
+        PairRecord partners = opponents;
+        for (PairStatsView v : pairStatsRepository.findPair(Math.min(playerId, otherId), Math.max(playerId, otherId))) {
+            if (PairRelation.PARTNER.name().equals(v.getRelation())) {
+                partners = toRecord(v.getGamesPlayed(), v.getWins(), v.getLosses(), v.getPointsFor(), v.getPointsAgainst());
+            } else if (flipped) {
+                opponents = toRecord(v.getGamesPlayed(), v.getLosses(), v.getWins(), v.getPointsAgainst(), v.getPointsFor());
+            } else {
+                opponents = toRecord(v.getGamesPlayed(), v.getWins(), v.getLosses(), v.getPointsFor(), v.getPointsAgainst());
+            }
+        }
+        return new HeadToHeadResponse(playerId, otherId, opponents, partners);
+    }
+
+    /** Runs inside the publisher's transaction, so pair records commit or roll back with the match. */
+    @EventListener
+    public void onMatchScored(MatchScoredEvent event) {
+        PairDeltas deltas = new PairDeltas();
+        if (event.isCorrection()) {
+            deltas.remove(event.teamOneIds(), event.teamTwoIds(),
+                    event.previousTeamOneScore(), event.previousTeamTwoScore());
+            deltas.add(event.teamOneIds(), event.teamTwoIds(), event.teamOneScore(), event.teamTwoScore(), 0);
+        } else {
+            deltas.add(event.teamOneIds(), event.teamTwoIds(), event.teamOneScore(), event.teamTwoScore(), 1);
+        }
+        apply(deltas);
+    }
+
+    /** Writes accumulated deltas in one JDBC batch; callers supply the transaction. */
+    public void apply(PairDeltas deltas) {
+        if (deltas.totals.isEmpty()) return;
+        List<Object[]> rows = new ArrayList<>(deltas.totals.size());
+        deltas.totals.forEach((key, t) -> rows.add(new Object[]{
+                key.playerA(), key.playerB(), key.relation().name(), t[0], t[1], t[2], t[3], t[4]}));
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+    }
+
+    /** Builds the table on first start against an existing database. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        boolean empty = !Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pair_stats)", Boolean.class));
+        boolean hasScores = Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM matches WHERE team_one_score IS NOT NULL)", Boolean.class));
+        if (empty && hasScores) {
+            rebuildAll();
+        }
+    }
+
+    /** Recomputes the whole table from match history, one player-id range per transaction; returns the row count. */
+    public int rebuildAll() {
+        long start = System.nanoTime();
+        Map<String, Object> bounds = jdbcTemplate.queryForMap(
+                "SELECT COALESCE(min(id), 0) AS lo, COALESCE(max(id), -1) AS hi FROM users");
+        long lo = ((Number) bounds.get("lo")).longValue();
+        long hi = ((Number) bounds.get("hi")).longValue();
+        int rows = 0;
+        for (long chunkStart = lo; chunkStart <= hi; chunkStart += REBUILD_CHUNK_PLAYERS) {
+            long from = chunkStart;
+            long to = chunkStart + REBUILD_CHUNK_PLAYERS;
+            Integer written = txTemplate.execute(status -> {
+                pairStatsRepository.deleteByPlayerARange(from, to);
+                return pairStatsRepository.insertAggregatedForPlayerARange(from, to);
+            });
+            rows += written != null ? written : 0;
+        }
+        log.info("Rebuilt pair stats ({} rows) in {} ms", rows, (System.nanoTime() - start) / 1_000_000);
+        return rows;
+    }
+
+    private static PairRecord toRecord(long games, long wins, long losses, long pointsFor, long pointsAgainst) {
+        double winPercentage = games == 0 ? 0.0 : 100.0 * wins / games;
+        return new PairRecord(games, wins, losses, winPercentage, pointsFor, pointsAgainst);
+    }
+
+    private record PairKey(long playerA, long playerB, PairRelation relation) {}
+
+    /**
+     * Per-pair totals (games, wins, losses, points for, points against) from playerA's side,
+     * summed over any number of results before being written.
+     */
+    public static final class PairDeltas {
+        private final Map<PairKey, long[]> totals = new HashMap<>();
+
+        /** Adds a result, counting {@code games} games (0 when replacing an earlier result). */
+        public void add(List<Long> teamOne, List<Long> teamTwo, int teamOneScore, int teamTwoScore, int games) {
+            accumulate(teamOne, teamTwo, teamOneScore, teamTwoScore, games, 1);
+        }
+
+        /** Takes back a result's wins, losses and points, but not its game. */
+        public void remove(List<Long> teamOne, List<Long> teamTwo, int teamOneScore, int teamTwoScore) {
+            accumulate(teamOne, teamTwo, teamOneScore, teamTwoScore, 0, -1);
+        }
+
+        private void accumulate(List<Long> teamOne, List<Long> teamTwo, int one, int two, int games, int sign) {
+            partners(teamOne, one, two, games, sign);
+            partners(teamTwo, two, one, games, sign);
+            for (Long a : teamOne) {
+                for (Long b : teamTwo) {
+                    if (a < b) put(a, b, PairRelation.OPPONENT, one, two, games, sign);
+                    else put(b, a, PairRelation.OPPONENT, two, one, games, sign);
+                }
+            }
+        }
+
+        private void partners(List<Long> team, int pointsFor, int pointsAgainst, int games, int sign) {
+            for (int i = 0; i < team.size(); i++) {
+                for (int j = i + 1; j < team.size(); j++) {
+                    long a = Math.min(team.get(i), team.get(j));
+                    long b = Math.max(team.get(i), team.get(j));
+                    put(a, b, PairRelation.PARTNER, pointsFor, pointsAgainst, games, sign);
+                }
+            }
+        }
+
+        private void put(long a, long b, PairRelation relation, int pointsFor, int pointsAgainst, int games, int sign) {
+            long[] t = totals.computeIfAbsent(new PairKey(a, b, relation), k -> new long[5]);
+            t[0] += games;
+            t[1] += sign * (pointsFor > pointsAgainst ? 1 : 0);
+            t[2] += sign * (pointsFor < pointsAgainst ? 1 : 0);
+            t[3] += (long) sign * pointsFor;
+            t[4] += (long) sign * pointsAgainst;
+        }
+    }
+}
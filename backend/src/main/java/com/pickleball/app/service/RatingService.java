@@ -0,0 +1,415 @@
+package com.pickleball.app.service;
+
+import com.pickleball.app.dto.PlayerRatingResponse;
+import com.pickleball.app.dto.RatingReplayResponse;
+import com.pickleball.app.entity.MatchType;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Elo ratings per player, kept separately for singles and doubles.
+ *
+ * <p>Live ratings sit in two {@link RatingTable}s and are updated incrementally after each scored
+ * match commits; the affected rows of {@code player_ratings} are written through at the same time.
+ * A doubles team plays at the mean of its two ratings and both partners move by the same amount.
+ *
+ * <p>Corrections to an earlier result cannot be undone incrementally (every later match depended on
+ * it), so they queue a full replay instead. Replay streams scored matches in date order over plain
+ * JDBC into primitive arrays, recomputes everything in memory and rewrites the snapshot table in
+ * batches — no entities are materialized.
+ *
+ * <p>A replay reads history, computes and writes its snapshot without holding the ratings lock,
+ * so match saves and rating reads are never stuck behind it. Live updates that arrive meanwhile
+ * are parked and applied to the new tables when they are swapped in. A live update runs after its
+ * match commits, so its event can also arrive after a replay that already read that match; each
+ * replay therefore remembers the ids it covered, and such an update is skipped rather than rated
+ * twice. Snapshot rows carry their computation time and an upsert never overwrites a newer row.
+ */
+@Service
+public class RatingService {
+
+    private static final Logger log = LoggerFactory.getLogger(RatingService.class);
+
+    private static final int FETCH_SIZE = 10_000;
+    private static final int BATCH_SIZE = 1_000;
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO player_ratings (user_id, match_type, rating, games_played, updated_at)
+            VALUES (?, ?, ?, ?, ?)
+            ON CONFLICT (user_id, match_type)
+            DO UPDATE SET rating = EXCLUDED.rating, games_played = EXCLUDED.games_played, updated_at = EXCLUDED.updated_at
+            WHERE player_ratings.updated_at <= EXCLUDED.updated_at
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate txTemplate;
+    private final TransactionTemplate readOnlyTxTemplate;
+    private final double initialRating;
+    private final double kFactor;
+
+    private final Object lock = new Object();
+    private RatingTable singles;
+    private RatingTable doubles;
+    /** Sorted ids of the scored matches the last replay rated; guarded by {@code lock}. */
+    private long[] replayedMatchIds = new long[0];
+    /** Live updates that arrived while a replay was computing; guarded by {@code lock}. */
+    private List<MatchScoredEvent> parked;
+    /** Serializes replays. */
+    private final Object replayLock = new Object();
+
+    private final ExecutorService replayExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "rating-replay");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicBoolean replayQueued = new AtomicBoolean();
+
+    public RatingService(JdbcTemplate jdbcTemplate,
+                         PlatformTransactionManager transactionManager,
+                         ApplicationEventPublisher eventPublisher,
+                         @Value("${app.rating.initial-rating:1500}") double initialRating,
+                         @Value("${app.rating.k-factor:32}") double kFactor) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.streamingJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.streamingJdbcTemplate.setFetchSize(FETCH_SIZE);
+        // Live updates run after the match transaction commits, so they need a transaction of their own
+        this.txTemplate = new TransactionTemplate(transactionManager);
+        this.txTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readOnlyTxTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTxTemplate.setReadOnly(true);
+        this.initialRating = initialRating;
+        this.kFactor = kFactor;
+        this.singles = new RatingTable(initialRating, 1024);
+        this.doubles = new RatingTable(initialRating, 1024);
+    }
+
+    /** Loads the persisted snapshot; if there is none yet, derives it from match history. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadSnapshot() {
+        RatingTable loadedSingles = new RatingTable(initialRating, 1024);
+        RatingTable loadedDoubles = new RatingTable(initialRating, 1024);
+        // The fetch size only turns into a server-side cursor inside a transaction
+        readOnlyTxTemplate.executeWithoutResult(status -> streamingJdbcTemplate.query(
+                "SELECT user_id, match_type, rating, games_played FROM player_ratings",
+                rs -> {
+                    RatingTable table = MatchType.SINGLES.name().equals(rs.getString(2)) ? loadedSingles : loadedDoubles;
+                    table.put(rs.getLong(1), rs.getDouble(3), rs.getInt(4));
+                }));
+
+        if (loadedSingles.size() + loadedDoubles.size() == 0) {
+            replayAll();
+            return;
+        }
+        synchronized (lock) {
+            singles = loadedSingles;
+            doubles = loadedDoubles;
+        }
+        eventPublisher.publishEvent(RatingsChangedEvent.all());
+    }
+
+    @TransactionalEventListener
+    public void onMatchScored(MatchScoredEvent event) {
+        if (event.isCorrection()) {
+            requestReplay();
+            return;
+        }
+        long[] one = toArray(event.teamOneIds());
+        long[] two = toArray(event.teamTwoIds());
+        if (one.length == 0 || two.length == 0) {
+            log.warn("Not rating match {}: a team has no players", event.matchId());
+            return;
+        }
+        List<Object[]> rows;
+        synchronized (lock) {
+            if (parked != null) {
+                parked.add(event); // rated when the running replay swaps its tables in
+                return;
+            }
+            if (Arrays.binarySearch(replayedMatchIds, event.matchId()) >= 0) {
+                return; // already rated by a replay that read it after it committed
+            }
+            rows = applyLive(event, one, two);
+        }
+        writeRows(rows);
+        List<Long> changed = new ArrayList<>(event.teamOneIds());
+        changed.addAll(event.teamTwoIds());
+        eventPublisher.publishEvent(new RatingsChangedEvent(event.matchType(), changed));
+    }
+
+    public PlayerRatingResponse getRating(Long userId) {
+        synchronized (lock) {
+            return new PlayerRatingResponse(userId,
+                    singles.rating(userId), singles.games(userId),
+                    doubles.rating(userId), doubles.games(userId));
+        }
+    }
+
+    public double currentRating(long userId, MatchType matchType) {
+        synchronized (lock) {
+            return tableFor(matchType).rating(userId);
+        }
+    }
+
+    public int gamesPlayed(long userId, MatchType matchType) {
+        synchronized (lock) {
+            return tableFor(matchType).games(userId);
+        }
+    }
+
+    /** Rating a player starts from before their first rated match. */
+    public double getInitialRating() {
+        return initialRating;
+    }
+
+    /** Queues a background replay; requests arriving while one is already queued are coalesced. */
+    public void requestReplay() {
+        if (replayQueued.compareAndSet(false, true)) {
+            replayExecutor.execute(() -> {
+                replayQueued.set(false);
+                try {
+                    replayAll();
+                } catch (RuntimeException e) {
+                    log.error("Rating replay failed", e);
+                }
+            });
+        }
+    }
+
+    /**
+     * Recomputes every rating from the full scored history and replaces both the live tables and
+     * the snapshot table. The old tables keep serving reads until the swap, and live updates that
+     * arrive in the meantime are applied on top of the new ones, so none are lost.
+     */
+    public RatingReplayResponse replayAll() {
+        try {
+            synchronized (replayLock) {
+                return replay();
+            }
+        } finally {
+            eventPublisher.publishEvent(RatingsChangedEvent.all());
+        }
+    }
+
+    private RatingReplayResponse replay() {
+        long start = System.nanoTime();
+        Timestamp snapshotTime;
+        synchronized (lock) {
+            // Live rows computed before this point are older than the snapshot; later ones are parked
+            snapshotTime = Timestamp.valueOf(LocalDateTime.now());
+            parked = new ArrayList<>();
+        }
+        try {
+            History history = readOnlyTxTemplate.execute(status -> loadHistory());
+
+            RatingTable newSingles = new RatingTable(initialRating, 1024);
+            RatingTable newDoubles = new RatingTable(initialRating, 1024);
+            for (int i = 0; i < history.size; i++) {
+                if (history.a1[i] == 0 || history.b1[i] == 0) continue; // a team without players
+                rate(history.doubles[i] ? newDoubles : newSingles,
+                        history.a1[i], history.a2[i], history.b1[i], history.b2[i],
+                        history.scoreOne[i], history.scoreTwo[i]);
+            }
+
+            // The new tables are still private to this thread; each batch commits on its own
+            writeSnapshot(newSingles, MatchType.SINGLES, snapshotTime);
+            writeSnapshot(newDoubles, MatchType.DOUBLES, snapshotTime);
+            jdbcTemplate.update("DELETE FROM player_ratings WHERE updated_at < ?", snapshotTime);
+
+            List<Object[]> rows;
+            synchronized (lock) {
+                singles = newSingles;
+                doubles = newDoubles;
+                replayedMatchIds = history.sortedIds;
+                rows = drainParked();
+            }
+            writeRows(rows);
+
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+            log.info("Replayed {} matches into {} ratings in {} ms",
+                    history.size, newSingles.size() + newDoubles.size(), elapsedMs);
+            return new RatingReplayResponse(history.size, newSingles.size() + newDoubles.size(), elapsedMs);
+        } catch (RuntimeException e) {
+            // Keep the old tables and rate what arrived meanwhile on top of them
+            List<Object[]> rows;
+            synchronized (lock) {
+                rows = drainParked();
+            }
+            writeRows(rows);
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        replayExecutor.shutdownNow();
+    }
+
+    // ── helpers ──────────────────────────────────────────────────────────────
+
+    /** One Elo step. Player ids of 0 mean "no second player" (singles). */
+    private void rate(RatingTable table, long a1, long a2, long b1, long b2, int scoreOne, int scoreTwo) {
+        double teamOne = a2 == 0 ? table.rating(a1) : (table.rating(a1) + table.rating(a2)) / 2;
+        double teamTwo = b2 == 0 ? table.rating(b1) : (table.rating(b1) + table.rating(b2)) / 2;
+        double expectedOne = 1.0 / (1.0 + Math.pow(10.0, (teamTwo - teamOne) / 400.0));
+        double actualOne = scoreOne > scoreTwo ? 1.0 : scoreOne < scoreTwo ? 0.0 : 0.5;
+        double delta = kFactor * (actualOne - expectedOne);
+
+        table.apply(a1, delta);
+        if (a2 != 0) table.apply(a2, delta);
+        table.apply(b1, -delta);
+        if (b2 != 0) table.apply(b2, -delta);
+    }
+
+    /** Rates a first result into the live tables and returns its snapshot rows; caller holds {@code lock}. */
+    private List<Object[]> applyLive(MatchScoredEvent event, long[] one, long[] two) {
+        RatingTable table = tableFor(event.matchType());
+        rate(table, one[0], one.length > 1 ? one[1] : 0, two[0], two.length > 1 ? two[1] : 0,
+                event.teamOneScore(), event.teamTwoScore());
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>(one.length + two.length);
+        for (long id : one) rows.add(snapshotRow(table, id, event.matchType(), now));
+        for (long id : two) rows.add(snapshotRow(table, id, event.matchType(), now));
+        return rows;
+    }
+
+    /** Rates the updates parked during a replay and stops parking; caller holds {@code lock}. */
+    private List<Object[]> drainParked() {
+        List<Object[]> rows = new ArrayList<>();
+        for (MatchScoredEvent event : parked) {
+            if (Arrays.binarySearch(replayedMatchIds, event.matchId()) >= 0) continue;
+            rows.addAll(applyLive(event, toArray(event.teamOneIds()), toArray(event.teamTwoIds())));
+        }
+        parked = null;
+        return rows;
+    }
+
+    private void writeRows(List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            txTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPSERT_SQL, rows));
+        }
+    }
+
+    private RatingTable tableFor(MatchType matchType) {
+        return matchType == MatchType.SINGLES ? singles : doubles;
+    }
+
+    private Object[] snapshotRow(RatingTable table, long userId, MatchType matchType, LocalDateTime now) {
+        return new Object[]{userId, matchType.name(), table.rating(userId), table.games(userId), Timestamp.valueOf(now)};
+    }
+
+    private void writeSnapshot(RatingTable table, MatchType matchType, Timestamp now) {
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        table.forEach((userId, rating, games) -> {
+            batch.add(new Object[]{userId, matchType.name(), rating, games, now});
+            if (batch.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(UPSERT_SQL, batch);
+                batch.clear();
+            }
+        });
+        if (!batch.isEmpty()) jdbcTemplate.batchUpdate(UPSERT_SQL, batch);
+    }
+
+    /**
+     * Streams scored matches in (match_date, id) order, then streams both team tables unordered and
+     * places each row by binary search over the sorted match ids. Sequential scans with no join or
+     * sort on the database side keep a million-match load to a few hundred milliseconds.
+     */
+    private History loadHistory() {
+        History h = new History();
+        streamingJdbcTemplate.query("""
+                SELECT id, match_type, team_one_score, team_two_score FROM matches
+                WHERE team_one_score IS NOT NULL AND team_two_score IS NOT NULL
+                ORDER BY match_date, id
+                """,
+                rs -> {
+                    h.add(rs.getLong(1), !MatchType.SINGLES.name().equals(rs.getString(2)), rs.getInt(3), rs.getInt(4));
+                });
+
+        long[] sortedIds = Arrays.copyOf(h.ids, h.size);
+        Arrays.sort(sortedIds);
+        int[] indexOfSorted = new int[h.size];
+        for (int i = 0; i < h.size; i++) {
+            indexOfSorted[Arrays.binarySearch(sortedIds, h.ids[i])] = i;
+        }
+
+        mergeTeam(h, sortedIds, indexOfSorted, "match_team_one_players", true);
+        mergeTeam(h, sortedIds, indexOfSorted, "match_team_two_players", false);
+        h.sortedIds = sortedIds;
+        return h;
+    }
+
+    private void mergeTeam(History h, long[] sortedIds, int[] indexOfSorted, String joinTable, boolean teamOne) {
+        streamingJdbcTemplate.query("SELECT match_id, user_id FROM " + joinTable, rs -> {
+            int pos = Arrays.binarySearch(sortedIds, rs.getLong(1));
+            if (pos < 0) return; // unscored match
+            int i = indexOfSorted[pos];
+            long userId = rs.getLong(2);
+            if (teamOne) {
+                if (h.a1[i] == 0) h.a1[i] = userId; else h.a2[i] = userId;
+            } else {
+                if (h.b1[i] == 0) h.b1[i] = userId; else h.b2[i] = userId;
+            }
+        });
+    }
+
+    private static long[] toArray(List<Long> ids) {
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /** Column-oriented match history; grows by doubling. */
+    private static final class History {
+        int size;
+        long[] ids = new long[1024];
+        boolean[] doubles = new boolean[1024];
+        int[] scoreOne = new int[1024];
+        int[] scoreTwo = new int[1024];
+        long[] a1 = new long[1024];
+        long[] a2 = new long[1024];
+        long[] b1 = new long[1024];
+        long[] b2 = new long[1024];
+        long[] sortedIds;
+
+        void add(long id, boolean isDoubles, int one, int two) {
+            if (size == ids.length) {
+                int n = size << 1;
+                ids = Arrays.copyOf(ids, n);
+                doubles = Arrays.copyOf(doubles, n);
+                scoreOne = Arrays.copyOf(scoreOne, n);
+                scoreTwo = Arrays.copyOf(scoreTwo, n);
+                a1 = Arrays.copyOf(a1, n);
+                a2 = Arrays.copyOf(a2, n);
+                b1 = Arrays.copyOf(b1, n);
+                b2 = Arrays.copyOf(b2, n);
+            }
+            ids[size] = id;
+            doubles[size] = isDoubles;
+            scoreOne[size] = one;
+            scoreTwo[size] = two;
+            size++;
+        }
+    }
+}
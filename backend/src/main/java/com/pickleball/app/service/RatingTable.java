@@ -0,0 +1,115 @@
+package com.pickleball.app.service;
+
+/**
+ * Open-addressing map from user id to (rating, games played), backed by parallel primitive arrays
+ * so a million lookups and updates during a replay allocate nothing. User ids are positive, so
+ * 0 marks an empty slot. Not thread-safe — RatingService serializes access.
+ */
+class RatingTable {
+
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private final double initialRating;
+    private long[] keys;
+    private double[] ratings;
+    private int[] games;
+    private int size;
+
+    RatingTable(double initialRating, int expectedSize) {
+        this.initialRating = initialRating;
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        this.keys = new long[capacity];
+        this.ratings = new double[capacity];
+        this.games = new int[capacity];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean contains(long userId) {
+        return keys[slot(userId)] == userId;
+    }
+
+    /** Current rating, or the initial rating for a player who has never been rated. */
+    double rating(long userId) {
+        int i = slot(userId);
+        return keys[i] == userId ? ratings[i] : initialRating;
+    }
+
+    int games(long userId) {
+        int i = slot(userId);
+        return keys[i] == userId ? games[i] : 0;
+    }
+
+    /** Adds {@code delta} to the player's rating and counts one more game. */
+    void apply(long userId, double delta) {
+        int i = insertionSlot(userId);
+        ratings[i] += delta;
+        games[i]++;
+    }
+
+    /** Overwrites a player's state, e.g. when loading a persisted snapshot. */
+    void put(long userId, double rating, int gamesPlayed) {
+        int i = insertionSlot(userId);
+        ratings[i] = rating;
+        games[i] = gamesPlayed;
+    }
+
+    void forEach(Entry consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) consumer.accept(keys[i], ratings[i], games[i]);
+        }
+    }
+
+    @FunctionalInterface
+    interface Entry {
+        void accept(long userId, double rating, int gamesPlayed);
+    }
+
+    private int insertionSlot(long userId) {
+        int i = slot(userId);
+        if (keys[i] == userId) return i;
+        if (size + 1 > keys.length * LOAD_FACTOR) {
+            grow();
+            i = slot(userId);
+        }
+        keys[i] = userId;
+        ratings[i] = initialRating;
+        games[i] = 0;
+        size++;
+        return i;
+    }
+
+    /** Slot holding {@code userId}, or the empty slot where it would be inserted. */
+    private int slot(long userId) {
+        int mask = keys.length - 1;
+        int i = mix(userId) & mask;
+        while (keys[i] != 0 && keys[i] != userId) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        double[] oldRatings = ratings;
+        int[] oldGames = games;
+        keys = new long[oldKeys.length << 1];
+        ratings = new double[keys.length];
+        games = new int[keys.length];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int j = slot(oldKeys[i]);
+                keys[j] = oldKeys[i];
+                ratings[j] = oldRatings[i];
+                games[j] = oldGames[i];
+            }
+        }
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
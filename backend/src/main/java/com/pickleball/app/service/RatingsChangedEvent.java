@@ -0,0 +1,20 @@
+package com.pickleball.app.service;
+
+import com.pickleball.app.entity.MatchType;
+
+import java.util.List;
+
+/**
+ * Published by RatingService after live ratings change. A null {@code userIds} means every rating
+ * may have changed (a full replay), so listeners should drop anything derived from them.
+ */
+public record RatingsChangedEvent(MatchType matchType, List<Long> userIds) {
+
+    public static RatingsChangedEvent all() {
+        return new RatingsChangedEvent(null, null);
+    }
+
+    public boolean isFullReplay() {
+        return userIds == null;
+    }
+}
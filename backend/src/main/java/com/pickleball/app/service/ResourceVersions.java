@@ -0,0 +1,69 @@
+package com.pickleball.app.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version counters behind the ETags of group member lists, so a conditional GET can be answered
+ * with 304 from memory. Session pages do not need counters: their tag comes from the cached
+ * session state itself (see {@link SessionCache.CachedSession#etag()}).
+ *
+ * <p>Every version is drawn from one process-wide sequence and prefixed with a per-process
+ * epoch, so a value is never reused: not after a restart, not when a counter expires and is
+ * recreated. Writers bump after their transaction commits and readers take the version before
+ * loading, so a stale ETag can only ever pair with content older than it, never newer.
+ *
+ * <p>Counters only move when this instance handles a write. Each one expires a fixed time after
+ * it was set, however often it is read, so a change made on another instance is picked up within
+ * that TTL.
+ */
+@Service
+public class ResourceVersions {
+
+    private static final String USERS = "users";
+
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    private final AtomicLong sequence = new AtomicLong();
+    private final Cache<String, Long> versions;
+
+    public ResourceVersions(@Value("${app.resource-versions.ttl-seconds:60}") long ttlSeconds) {
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    public static String groupMembers(Long groupId) {
+        return "group-members:" + groupId;
+    }
+
+    /** ETag for a list of members, which also shows names and photos: any profile change invalidates it. */
+    public String memberListEtag(Long groupId) {
+        return "\"" + epoch + "-" + current(groupMembers(groupId)) + "-" + current(USERS) + "\"";
+    }
+
+    public void bump(String key) {
+        versions.put(key, sequence.incrementAndGet());
+    }
+
+    /** A user's name or photo changed; every member list may show it. */
+    public void bumpUsers() {
+        bump(USERS);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMembershipChanged(GroupMembershipChangedEvent event) {
+        bump(groupMembers(event.groupId()));
+    }
+
+    private long current(String key) {
+        return versions.get(key, k -> sequence.incrementAndGet());
+    }
+}
@@ -0,0 +1,54 @@
+package com.pickleball.app.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * One-time migration for rows written before scores had numeric columns: parses the legacy
+ * "n-m" text into {@code team_one_score}/{@code team_two_score}. Walks the primary key in fixed
+ * id ranges so each chunk is a short index range update and no lock is held for long; it is a
+ * no-op once every parseable row is filled. Runs before ApplicationReadyEvent,
+ * so ratings and stats always see the numeric columns.
+ */
+@Component
+public class ScoreColumnBackfill implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ScoreColumnBackfill.class);
+
+    private static final int CHUNK_SIZE = 10_000;
+
+    private static final String PARSEABLE = "team_one_score IS NULL AND score ~ '^\\s*[0-9]{1,6}\\s*-\\s*[0-9]{1,6}\\s*$'";
+
+    private static final String BACKFILL_CHUNK_SQL = """
+            UPDATE matches
+            SET team_one_score = CAST(trim(split_part(score, '-', 1)) AS integer),
+                team_two_score = CAST(trim(split_part(score, '-', 2)) AS integer)
+            WHERE id >= ? AND id < ? AND %s
+            """.formatted(PARSEABLE);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ScoreColumnBackfill(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Long minId = jdbcTemplate.queryForObject(
+                "SELECT min(id) FROM matches WHERE " + PARSEABLE, Long.class);
+        if (minId == null) return;
+        long maxId = jdbcTemplate.queryForObject("SELECT max(id) FROM matches", Long.class);
+
+        int total = 0;
+        for (long from = minId; from <= maxId; from += CHUNK_SIZE) {
+            total += jdbcTemplate.update(BACKFILL_CHUNK_SQL, from, from + CHUNK_SIZE);
+        }
+        if (total > 0) {
+            log.info("Backfilled numeric scores for {} matches", total);
+        }
+    }
+}
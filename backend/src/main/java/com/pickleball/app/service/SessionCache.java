@@ -0,0 +1,117 @@
+package com.pickleball.app.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pickleball.app.dto.SessionParticipantResponse;
+import com.pickleball.app.dto.SessionResponse;
+import com.pickleball.app.repository.GuestPlayerRepository;
+import com.pickleball.app.repository.SessionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Session summaries and participant lists for the public join-code endpoints, kept in a bounded
+ * TTL cache keyed by code. A miss loads the summary and the participants together; after that a
+ * join appends its participant and a close swaps in the closed summary, so the public pages read
+ * no rows while a session is in use. The TTL bounds how stale another instance's writes can look.
+ * Hit and miss counts are published as the {@code cache.*} meters tagged {@code cache=sessions}.
+ */
+@Service
+public class SessionCache {
+
+    private final SessionRepository sessionRepository;
+    private final GuestPlayerRepository guestPlayerRepository;
+    private final Cache<String, CachedSession> cache;
+
+    public SessionCache(SessionRepository sessionRepository,
+                        GuestPlayerRepository guestPlayerRepository,
+                        MeterRegistry meterRegistry,
+                        @Value("${app.session-cache.max-size:10000}") long maxSize,
+                        @Value("${app.session-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.sessionRepository = sessionRepository;
+        this.guestPlayerRepository = guestPlayerRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "sessions");
+    }
+
+    /** A session as the public pages see it; {@code participants} is immutable. */
+    public record CachedSession(SessionResponse summary, List<SessionParticipantResponse> participants) {
+
+        public boolean isClosed() {
+            return "CLOSED".equals(summary.status());
+        }
+
+        /**
+         * Strong ETag derived from the persisted state this snapshot reflects: status, participant
+         * count and the newest participant id. Any instance serving the same rows yields the same
+         * tag, and a change made elsewhere shows up once this entry is reloaded.
+         */
+        public String etag() {
+            long newest = 0;
+            for (SessionParticipantResponse p : participants) newest = Math.max(newest, p.id());
+            return "\"" + summary.id() + "-" + summary.status() + "-" + participants.size() + "-" + newest + "\"";
+        }
+    }
+
+    /** Returns the session for {@code code} (any case), loading it on a miss; 404 if there is none. */
+    public CachedSession get(String code) {
+        CachedSession session = cache.get(code.toUpperCase(), this::load);
+        if (session == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Session not found");
+        }
+        return session;
+    }
+
+    /** Adds a participant who has just been saved; a no-op when the session is not cached. */
+    public void participantJoined(String code, SessionParticipantResponse participant) {
+        cache.asMap().computeIfPresent(code, (k, cached) -> {
+            // A load that ran after the insert already includes this participant
+            if (cached.participants().stream().anyMatch(p -> p.id().equals(participant.id()))) {
+                return cached;
+            }
+            List<SessionParticipantResponse> participants = new ArrayList<>(cached.participants());
+            participants.add(participant);
+            return new CachedSession(withCount(cached.summary(), participants.size()), List.copyOf(participants));
+        });
+    }
+
+    /** Replaces the cached summary after the session itself changed, e.g. on close. */
+    public void sessionUpdated(SessionResponse summary) {
+        cache.asMap().computeIfPresent(summary.code(), (k, cached) ->
+                new CachedSession(withCount(summary, cached.participants().size()), cached.participants()));
+    }
+
+    public void evict(String code) {
+        cache.invalidate(code);
+    }
+
+    /** Runs under Caffeine's per-key lock, so a concurrent join waits and then applies on top. */
+    private CachedSession load(String code) {
+        return sessionRepository.findSummaryByCode(code)
+                .map(summary -> {
+                    List<SessionParticipantResponse> participants = guestPlayerRepository
+                            .findAllBySessionId(summary.id()).stream()
+                            .map(g -> new SessionParticipantResponse(g.getId(), g.getDisplayName(), "GUEST"))
+                            .toList();
+                    return new CachedSession(withCount(summary, participants.size()), participants);
+                })
+                .orElse(null);
+    }
+
+    private static SessionResponse withCount(SessionResponse s, long participantCount) {
+        return new SessionResponse(s.id(), s.code(), s.name(), s.groupId(), s.groupName(),
+                s.status(), s.createdAt(), participantCount);
+    }
+}
@@ -0,0 +1,108 @@
+package com.pickleball.app.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.security.SecureRandom;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands out session join codes from a pool of candidates already checked against the
+ * {@code sessions} table, so creating a session never waits on uniqueness queries. The pool is
+ * topped up in the background: one batch of random candidates, one set-difference query to drop
+ * any that are taken. Taking from an empty pool refills it on the caller's thread.
+ *
+ * <p>Another instance may validate the same candidate; the unique constraint on {@code code} is
+ * the final guard and the caller retries with the next code.
+ */
+@Service
+public class SessionCodePool {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionCodePool.class);
+
+    private static final String CHARS = "ABCDEFGHJKLMNPQRSTUVWXYZ23456789";
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private static final String UNUSED_SQL = """
+            SELECT c FROM unnest(?::text[]) AS c
+            EXCEPT
+            SELECT code FROM sessions WHERE code = ANY (?::text[])
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int targetSize;
+    private final BlockingQueue<String> pool = new LinkedBlockingQueue<>();
+    private final ReentrantLock refillLock = new ReentrantLock();
+
+    public SessionCodePool(JdbcTemplate jdbcTemplate,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.session-code-pool.size:200}") int targetSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.targetSize = targetSize;
+        meterRegistry.gauge("session.code.pool.depth", pool, BlockingQueue::size);
+    }
+
+    /** Returns an unused code, e.g. {@code PCKL-7B2Q}. */
+    public String take() {
+        String code = pool.poll();
+        while (code == null) {
+            refill();
+            code = pool.poll();
+        }
+        return code;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        refill();
+    }
+
+    /** Tops the pool up once it has dropped below half its target size. */
+    @Scheduled(fixedDelayString = "${app.session-code-pool.refill-interval-ms:5000}")
+    public void refillIfLow() {
+        if (pool.size() < targetSize / 2) {
+            refill();
+        }
+    }
+
+    private void refill() {
+        // A caller that finds the lock held waits for that refill instead of running its own
+        refillLock.lock();
+        try {
+            int missing = targetSize - pool.size();
+            if (missing <= 0) return;
+            Set<String> candidates = new LinkedHashSet<>();
+            while (candidates.size() < missing) {
+                String code = randomCode();
+                if (!pool.contains(code)) candidates.add(code);
+            }
+            String[] array = candidates.toArray(String[]::new);
+            List<String> unused = jdbcTemplate.queryForList(UNUSED_SQL, String.class, array, array);
+            pool.addAll(unused);
+            log.debug("Session code pool refilled with {} codes ({} were taken)", unused.size(), array.length - unused.size());
+        } finally {
+            refillLock.unlock();
+        }
+    }
+
+    private static String randomCode() {
+        StringBuilder sb = new StringBuilder(9);
+        // Format: XXXX-XXXX  e.g. PCKL-7B2Q
+        for (int i = 0; i < 4; i++) sb.append(CHARS.charAt(RANDOM.nextInt(CHARS.length())));
+        sb.append('-');
+        for (int i = 0; i < 4; i++) sb.append(CHARS.charAt(RANDOM.nextInt(CHARS.length())));
+        return sb.toString();
+    }
+}
@@ -0,0 +1,179 @@
+package com.pickleball.app.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fans session events out to Server-Sent Event subscribers, keyed by session code. Publishing
+ * hands the already-built payload to every open stream of that session, so one database write
+ * becomes N pushes without any further reads. A heartbeat comment keeps idle connections from
+ * being cut by proxies.
+ *
+ * <p>Publishing never writes to a socket itself: each stream has a bounded outbox drained by a
+ * small sender pool, one drain per stream at a time so its events stay in order. A join request
+ * therefore returns as soon as its row has committed, whatever state the subscribers' connections
+ * are in. A stream whose outbox overflows is too slow to keep up and is ended; the client
+ * reconnects and receives the full participant list again. Streams that fail on write are dropped.
+ */
+@Service
+public class SessionEventBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionEventBroadcaster.class);
+
+    public static final String EVENT_PARTICIPANTS = "participants";
+    public static final String EVENT_JOIN = "join";
+    public static final String EVENT_CLOSE = "close";
+    public static final String EVENT_COURTS = "courts";
+
+    private static final long STREAM_TIMEOUT_MS = TimeUnit.HOURS.toMillis(4);
+    private static final long HEARTBEAT_SECONDS = 25;
+    private static final int OUTBOX_CAPACITY = 256;
+    private static final int SENDER_THREADS = 4;
+
+    private final Map<String, List<Stream>> subscribers = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "session-sse-heartbeat");
+        t.setDaemon(true);
+        return t;
+    });
+    private final ExecutorService senders = Executors.newFixedThreadPool(SENDER_THREADS, r -> {
+        Thread t = new Thread(r, "session-sse-sender");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public SessionEventBroadcaster() {
+        heartbeat.scheduleAtFixedRate(this::sendHeartbeat, HEARTBEAT_SECONDS, HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /** Opens a stream for the session and sends {@code initial} as its first event. */
+    public SseEmitter subscribe(String code, String initialEvent, Object initial) {
+        Stream stream = new Stream(code, new SseEmitter(STREAM_TIMEOUT_MS));
+        // Queued before the stream is visible to publishers, so it is always the first event
+        stream.enqueue(new Outgoing(SseEmitter.event().name(initialEvent).data(initial), false));
+        subscribers.computeIfAbsent(code, k -> new CopyOnWriteArrayList<>()).add(stream);
+        stream.emitter.onCompletion(() -> remove(stream));
+        stream.emitter.onTimeout(() -> remove(stream));
+        stream.emitter.onError(e -> remove(stream));
+        return stream.emitter;
+    }
+
+    public void publish(String code, String event, Object data) {
+        List<Stream> streams = subscribers.get(code);
+        if (streams == null) return;
+        for (Stream stream : streams) {
+            stream.enqueue(new Outgoing(SseEmitter.event().name(event).data(data), false));
+        }
+    }
+
+    /** Sends a final event and ends every stream of the session once it has been delivered. */
+    public void publishAndComplete(String code, String event, Object data) {
+        List<Stream> streams = subscribers.remove(code);
+        if (streams == null) return;
+        for (Stream stream : streams) {
+            stream.enqueue(new Outgoing(SseEmitter.event().name(event).data(data), true));
+        }
+    }
+
+    public boolean hasSubscribers(String code) {
+        return subscribers.containsKey(code);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        senders.shutdownNow();
+        subscribers.values().forEach(streams -> streams.forEach(s -> s.emitter.complete()));
+        subscribers.clear();
+    }
+
+    private void sendHeartbeat() {
+        subscribers.values().forEach(streams -> {
+            for (Stream stream : streams) {
+                stream.enqueue(new Outgoing(SseEmitter.event().comment("heartbeat"), false));
+            }
+        });
+    }
+
+    private void remove(Stream stream) {
+        subscribers.computeIfPresent(stream.code, (k, streams) -> {
+            streams.remove(stream);
+            return streams.isEmpty() ? null : streams;
+        });
+        log.debug("SSE stream for session {} closed", stream.code);
+    }
+
+    /** An event to send, optionally ending the stream after it. */
+    private record Outgoing(SseEmitter.SseEventBuilder event, boolean complete) {}
+
+    /** One subscriber's emitter and its outbox; at most one sender drains it at a time. */
+    private final class Stream {
+        final String code;
+        final SseEmitter emitter;
+        final Queue<Outgoing> outbox = new ArrayBlockingQueue<>(OUTBOX_CAPACITY);
+        final AtomicBoolean draining = new AtomicBoolean();
+
+        Stream(String code, SseEmitter emitter) {
+            this.code = code;
+            this.emitter = emitter;
+        }
+
+        void enqueue(Outgoing outgoing) {
+            if (!outbox.offer(outgoing)) {
+                log.debug("SSE stream for session {} fell {} events behind, ending it", code, OUTBOX_CAPACITY);
+                outbox.clear();
+                remove(this);
+                emitter.complete();
+                return;
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this::drain);
+                } catch (RuntimeException e) {
+                    draining.set(false); // shutting down
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                Outgoing next;
+                while ((next = outbox.poll()) != null) {
+                    try {
+                        emitter.send(next.event());
+                        if (next.complete()) emitter.complete();
+                    } catch (IOException | IllegalStateException e) {
+                        outbox.clear();
+                        remove(this);
+                        return;
+                    }
+                }
+            } finally {
+                draining.set(false);
+            }
+            // An event queued after the last poll but before the flag was cleared
+            if (!outbox.isEmpty()) scheduleDrain();
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.pickleball.app.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Inserts session joins in micro-batches. A join is queued and its request thread waits; one
+ * writer thread drains whatever has queued up while the previous batch was being written and
+ * inserts it with two statements — ids drawn from the sequence in one query, then a batched
+ * insert the driver rewrites into a multi-row {@code INSERT} — and releases each waiter with its
+ * id once the transaction has committed. A lone join is a batch of one; under a burst the batch
+ * grows with the backlog, so latency stays flat instead of queueing on the connection pool.
+ *
+ * <p>When the queue is full the join is written on the caller's thread instead.
+ *
+ * <p>A waiter that times out withdraws its join, so the 503 it returns is true: a queued join is
+ * claimed by exactly one side, the writer before inserting it or the caller on timeout. If the
+ * writer got there first the insert is already under way, and the caller waits for its outcome
+ * rather than report a failure for a row that is about to commit.
+ */
+@Service
+public class SessionJoinBatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionJoinBatcher.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO guest_players (id, session_id, display_name, joined_at) VALUES (?, ?, ?, ?)";
+
+    private static final long JOIN_TIMEOUT_SECONDS = 10;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate txTemplate;
+    private final BlockingQueue<PendingJoin> queue;
+    private final int maxBatchSize;
+    private final DistributionSummary batchSizes;
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "session-join-writer");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private volatile boolean running = true;
+
+    public SessionJoinBatcher(JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.session-join.queue-capacity:2000}") int queueCapacity,
+                              @Value("${app.session-join.max-batch-size:200}") int maxBatchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.txTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatchSize = maxBatchSize;
+        this.batchSizes = DistributionSummary.builder("session.join.batch.size")
+                .description("Joins written per insert batch")
+                .register(meterRegistry);
+        meterRegistry.gauge("session.join.queue.depth", queue, BlockingQueue::size);
+        writer.execute(this::drainLoop);
+    }
+
+    private record PendingJoin(Long sessionId, String displayName, LocalDateTime joinedAt,
+                               CompletableFuture<Long> id, AtomicBoolean claimed) {
+
+        /** True for whichever of the writer and the timed-out caller gets here first. */
+        boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+    }
+
+    /** Saves a guest participant and returns its id once the row is committed. */
+    public long join(Long sessionId, String displayName) {
+        PendingJoin join = new PendingJoin(sessionId, displayName, LocalDateTime.now(),
+                new CompletableFuture<>(), new AtomicBoolean());
+        if (!running || !queue.offer(join)) {
+            join.claim();
+            write(List.of(join));
+        }
+        try {
+            return join.id().get(JOIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            if (join.claim()) {
+                // Withdrawn before the writer reached it; it will never be inserted
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Could not join right now, try again");
+            }
+            return awaitClaimed(join);
+        } catch (InterruptedException e) {
+            if (join.claim()) {
+                Thread.currentThread().interrupt();
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Join interrupted");
+            }
+            long id = awaitClaimed(join);
+            Thread.currentThread().interrupt();
+            return id;
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /** Waits out a join the writer has already started inserting. */
+    private static long awaitClaimed(PendingJoin join) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return join.id().get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    throw unwrap(e);
+                }
+            }
+        } finally {
+            if (interrupted) Thread.currentThread().interrupt();
+        }
+    }
+
+    private static RuntimeException unwrap(ExecutionException e) {
+        return e.getCause() instanceof RuntimeException re ? re : new IllegalStateException(e.getCause());
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        writer.shutdownNow();
+        writer.awaitTermination(JOIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        // Anything still queued was accepted but never written
+        List<PendingJoin> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        rest.removeIf(join -> !join.claim());
+        if (!rest.isEmpty()) write(rest);
+    }
+
+    private void drainLoop() {
+        List<PendingJoin> batch = new ArrayList<>(maxBatchSize);
+        while (running) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch, maxBatchSize - 1);
+            // Joins whose caller already gave up are dropped, not inserted
+            batch.removeIf(join -> !join.claim());
+            if (!batch.isEmpty()) write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<PendingJoin> batch) {
+        try {
+            List<Long> ids = insert(batch);
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).id().complete(ids.get(i));
+            }
+            batchSizes.record(batch.size());
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.get(0).id().completeExceptionally(e);
+                return;
+            }
+            // One bad row (e.g. its session was deleted) must not fail the others
+            log.warn("Join batch of {} failed, retrying one by one: {}", batch.size(), e.getMessage());
+            for (PendingJoin join : batch) {
+                write(List.of(join));
+            }
+        }
+    }
+
+    private List<Long> insert(List<PendingJoin> batch) {
+        return txTemplate.execute(status -> {
+            List<Long> ids = jdbcTemplate.queryForList(
+                    "SELECT nextval(pg_get_serial_sequence('guest_players', 'id')) FROM generate_series(1, ?)",
+                    Long.class, batch.size());
+            List<Object[]> rows = new ArrayList<>(batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                PendingJoin join = batch.get(i);
+                rows.add(new Object[]{ids.get(i), join.sessionId(), join.displayName(), Timestamp.valueOf(join.joinedAt())});
+            }
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+            return ids;
+        });
+    }
+}
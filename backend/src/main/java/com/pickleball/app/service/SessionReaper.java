@@ -0,0 +1,158 @@
+package com.pickleball.app.service;
+
+import com.pickleball.app.repository.GuestPlayerRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Background lifecycle job for sessions. Each run closes sessions that have had no join for the
+ * idle period, then deletes the guest players of sessions closed longer than the retention
+ * period — guests only exist for the lifetime of a session. Both steps work in bounded chunks,
+ * each its own short statement, so no run holds locks on many rows at once.
+ *
+ * <p>Progress is counted by the {@code session.reaper.closed} and
+ * {@code session.reaper.guests.deleted} meters.
+ */
+@Service
+public class SessionReaper {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionReaper.class);
+
+    private static final String CLOSE_IDLE_SQL = """
+            UPDATE sessions SET status = 'CLOSED', closed_at = ?
+            WHERE id IN (
+                SELECT s.id FROM sessions s
+                WHERE s.status = 'ACTIVE' AND s.created_at < ?
+                  AND NOT EXISTS (SELECT 1 FROM guest_players g
+                                  WHERE g.session_id = s.id AND g.joined_at >= ?)
+                LIMIT ?)
+            RETURNING id, code
+            """;
+
+    private static final String EXPIRED_WITH_GUESTS_SQL = """
+            SELECT s.id, s.code FROM sessions s
+            WHERE s.status = 'CLOSED' AND s.closed_at < ?
+              AND EXISTS (SELECT 1 FROM guest_players g WHERE g.session_id = s.id)
+            LIMIT ?
+            """;
+
+    private static final int SESSIONS_PER_PURGE = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final GuestPlayerRepository guestPlayerRepository;
+    private final SessionCache sessionCache;
+    private final SessionEventBroadcaster sessionEventBroadcaster;
+    private final CourtRotationService courtRotationService;
+    private final Duration idleAfter;
+    private final Duration guestRetention;
+    private final int chunkSize;
+    private final Counter closedCounter;
+    private final Counter guestsDeletedCounter;
+
+    public SessionReaper(JdbcTemplate jdbcTemplate,
+                         GuestPlayerRepository guestPlayerRepository,
+                         SessionCache sessionCache,
+                         SessionEventBroadcaster sessionEventBroadcaster,
+                         CourtRotationService courtRotationService,
+                         MeterRegistry meterRegistry,
+                         @Value("${app.session-reaper.idle-hours:12}") long idleHours,
+                         @Value("${app.session-reaper.guest-retention-days:7}") long guestRetentionDays,
+                         @Value("${app.session-reaper.chunk-size:1000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.guestPlayerRepository = guestPlayerRepository;
+        this.sessionCache = sessionCache;
+        this.sessionEventBroadcaster = sessionEventBroadcaster;
+        this.courtRotationService = courtRotationService;
+        this.idleAfter = Duration.ofHours(idleHours);
+        this.guestRetention = Duration.ofDays(guestRetentionDays);
+        this.chunkSize = chunkSize;
+        this.closedCounter = meterRegistry.counter("session.reaper.closed");
+        this.guestsDeletedCounter = meterRegistry.counter("session.reaper.guests.deleted");
+    }
+
+    /** Sessions closed before closed_at existed count as closed when they were created. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        int rows = jdbcTemplate.update(
+                "UPDATE sessions SET closed_at = created_at WHERE status = 'CLOSED' AND closed_at IS NULL");
+        if (rows > 0) {
+            log.info("Backfilled closed_at for {} sessions", rows);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.session-reaper.interval-ms:600000}",
+               initialDelayString = "${app.session-reaper.interval-ms:600000}")
+    public void run() {
+        LocalDateTime now = LocalDateTime.now();
+        int closed = closeIdle(now);
+        long deleted = purgeGuests(now);
+        if (closed > 0 || deleted > 0) {
+            log.info("Session reaper closed {} idle sessions and deleted {} guest players", closed, deleted);
+        }
+    }
+
+    private int closeIdle(LocalDateTime now) {
+        Timestamp closedAt = Timestamp.valueOf(now);
+        Timestamp idleSince = Timestamp.valueOf(now.minus(idleAfter));
+        int total = 0;
+        int closed;
+        do {
+            List<Long> ids = new ArrayList<>();
+            List<String> codes = new ArrayList<>();
+            jdbcTemplate.query(CLOSE_IDLE_SQL, rs -> {
+                ids.add(rs.getLong(1));
+                codes.add(rs.getString(2));
+            }, closedAt, idleSince, idleSince, chunkSize);
+            ids.forEach(courtRotationService::discard);
+            for (String code : codes) {
+                sessionCache.evict(code);
+                if (sessionEventBroadcaster.hasSubscribers(code)) {
+                    sessionEventBroadcaster.publishAndComplete(code, SessionEventBroadcaster.EVENT_CLOSE,
+                            sessionCache.get(code).summary());
+                }
+            }
+            closed = codes.size();
+            total += closed;
+            closedCounter.increment(closed);
+        } while (closed == chunkSize);
+        return total;
+    }
+
+    private long purgeGuests(LocalDateTime now) {
+        Timestamp closedBefore = Timestamp.valueOf(now.minus(guestRetention));
+        long total = 0;
+        while (true) {
+            List<Long> ids = new ArrayList<>();
+            List<String> codes = new ArrayList<>();
+            jdbcTemplate.query(EXPIRED_WITH_GUESTS_SQL, rs -> {
+                ids.add(rs.getLong(1));
+                codes.add(rs.getString(2));
+            }, closedBefore, SESSIONS_PER_PURGE);
+            if (ids.isEmpty()) break;
+
+            int deleted;
+            do {
+                deleted = guestPlayerRepository.deleteChunkBySessionIds(ids, chunkSize);
+                total += deleted;
+                guestsDeletedCounter.increment(deleted);
+            } while (deleted == chunkSize);
+            codes.forEach(sessionCache::evict);
+            if (ids.size() < SESSIONS_PER_PURGE) break;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,119 @@
+package com.pickleball.app.service;
+
+import com.pickleball.app.dto.CourtAssignment;
+import com.pickleball.app.dto.ScheduleRound;
+import com.pickleball.app.dto.ScheduledPlayer;
+import com.pickleball.app.dto.SessionScheduleResponse;
+import com.pickleball.app.entity.GuestPlayer;
+import com.pickleball.app.entity.MatchType;
+import com.pickleball.app.entity.Session;
+import com.pickleball.app.repository.GuestPlayerRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates open-play schedules for a session: who plays on which court, with whom and against
+ * whom, for each round. The pool is the session's guests plus, when the session belongs to a group,
+ * the group's registered members, capped at {@link #MAX_POOL_SIZE}. Registered players carry their
+ * doubles rating; guests start at the initial rating. The optimization itself lives in
+ * {@link RoundScheduler}.
+ */
+@Service
+public class SessionScheduleService {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionScheduleService.class);
+
+    public static final int MAX_POOL_SIZE = 400;
+
+    private final GuestPlayerRepository guestPlayerRepository;
+    private final RatingService ratingService;
+    private final JdbcTemplate jdbcTemplate;
+
+    public SessionScheduleService(GuestPlayerRepository guestPlayerRepository,
+                                  RatingService ratingService,
+                                  JdbcTemplate jdbcTemplate) {
+        this.guestPlayerRepository = guestPlayerRepository;
+        this.ratingService = ratingService;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public SessionScheduleResponse generate(Session session, int rounds, int courts,
+                                            boolean includeGroupMembers, long seed) {
+        long start = System.nanoTime();
+        List<ScheduledPlayer> pool = loadPool(session, includeGroupMembers);
+        if (pool.size() < 4) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At least four players are needed to schedule doubles");
+        }
+        if (pool.size() > MAX_POOL_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + MAX_POOL_SIZE + " players can be scheduled at once");
+        }
+
+        double[] ratings = new double[pool.size()];
+        for (int i = 0; i < ratings.length; i++) ratings[i] = pool.get(i).rating();
+        RoundScheduler scheduler = new RoundScheduler(ratings, seed);
+        List<RoundScheduler.Round> plan = scheduler.schedule(rounds, courts);
+
+        List<ScheduleRound> result = new ArrayList<>(plan.size());
+        for (int r = 0; r < plan.size(); r++) {
+            RoundScheduler.Round round = plan.get(r);
+            List<CourtAssignment> assignments = new ArrayList<>(round.courts().length);
+            for (int c = 0; c < round.courts().length; c++) {
+                int[] court = round.courts()[c];
+                double gap = Math.abs(ratings[court[0]] + ratings[court[1]] - ratings[court[2]] - ratings[court[3]]) / 2;
+                assignments.add(new CourtAssignment(c + 1,
+                        List.of(pool.get(court[0]), pool.get(court[1])),
+                        List.of(pool.get(court[2]), pool.get(court[3])),
+                        gap));
+            }
+            List<ScheduledPlayer> sittingOut = new ArrayList<>(round.sittingOut().length);
+            for (int p : round.sittingOut()) sittingOut.add(pool.get(p));
+            result.add(new ScheduleRound(r + 1, assignments, sittingOut));
+        }
+
+        int repeatPartners = scheduler.repeatPartners();
+        int repeatOpponents = scheduler.repeatOpponents();
+        int minSitOuts = Integer.MAX_VALUE;
+        int maxSitOuts = 0;
+        for (int a = 0; a < pool.size(); a++) {
+            minSitOuts = Math.min(minSitOuts, scheduler.sitOuts(a));
+            maxSitOuts = Math.max(maxSitOuts, scheduler.sitOuts(a));
+        }
+
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        log.info("Scheduled {} rounds on {} courts for {} players in session {} in {} ms",
+                rounds, courts, pool.size(), session.getCode(), elapsedMs);
+        return new SessionScheduleResponse(session.getCode(), pool.size(), result,
+                repeatPartners, repeatOpponents, minSitOuts, maxSitOuts, elapsedMs);
+    }
+
+    private List<ScheduledPlayer> loadPool(Session session, boolean includeGroupMembers) {
+        List<ScheduledPlayer> pool = new ArrayList<>();
+        if (includeGroupMembers && session.getGroupId() != null) {
+            jdbcTemplate.query("""
+                    SELECT u.id, COALESCE(u.name, u.email)
+                    FROM group_members gm
+                    JOIN users u ON u.id = gm.user_id
+                    WHERE gm.group_id = ?
+                    ORDER BY u.id
+                    LIMIT ?
+                    """, rs -> {
+                long id = rs.getLong(1);
+                pool.add(new ScheduledPlayer(id, "REGISTERED", rs.getString(2),
+                        ratingService.currentRating(id, MatchType.DOUBLES)));
+            }, session.getGroupId(), MAX_POOL_SIZE + 1);
+        }
+        double guestRating = ratingService.getInitialRating();
+        for (GuestPlayer g : guestPlayerRepository.findAllBySessionId(session.getId())) {
+            pool.add(new ScheduledPlayer(g.getId(), "GUEST", g.getDisplayName(), guestRating));
+        }
+        return pool;
+    }
+}
@@ -0,0 +1,6 @@
+package com.pickleball.app.service;
+
+import java.util.List;
+
+/** Published by StatsService after {@code player_stats} rows of the given groups were recomputed. */
+public record StatsRebuiltEvent(List<Long> groupIds) {}
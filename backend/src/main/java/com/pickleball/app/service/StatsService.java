@@ -0,0 +1,145 @@
+package com.pickleball.app.service;
+
+import com.pickleball.app.dto.PlayerStatsResponse;
+import com.pickleball.app.dto.PlayerStatsView;
+import com.pickleball.app.dto.StatsRebuildResponse;
+import com.pickleball.app.repository.GroupRepository;
+import com.pickleball.app.repository.PlayerStatsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Player and group statistics, served from the materialized {@code player_stats} table.
+ *
+ * <p>The table is kept current inside the match write transaction: every {@link MatchScoredEvent}
+ * adds a delta row per player (a first result adds one game; a correction removes the old result's
+ * contribution and adds the new one). {@link #rebuildAll()} recomputes it from match history in
+ * chunks of groups, each chunk in its own short transaction.
+ */
+@Service
+public class StatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(StatsService.class);
+
+    private static final int REBUILD_CHUNK_SIZE = 50;
+
+    private final PlayerStatsRepository playerStatsRepository;
+    private final GroupRepository groupRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate txTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public StatsService(PlayerStatsRepository playerStatsRepository,
+                        GroupRepository groupRepository,
+                        JdbcTemplate jdbcTemplate,
+                        PlatformTransactionManager transactionManager,
+                        ApplicationEventPublisher eventPublisher) {
+        this.playerStatsRepository = playerStatsRepository;
+        this.groupRepository = groupRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.txTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional(readOnly = true)
+    public PlayerStatsResponse getPlayerStats(Long userId, Long groupId) {
+        PlayerStatsView view = playerStatsRepository.findPlayerStats(userId, groupId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+        return toResponse(view, groupId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<PlayerStatsResponse> getGroupStats(Long groupId) {
+        if (!groupRepository.existsById(groupId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Group not found");
+        }
+        return playerStatsRepository.findGroupStats(groupId).stream()
+                .map(v -> toResponse(v, groupId))
+                .toList();
+    }
+
+    /** Runs inside the publisher's transaction, so stats commit or roll back with the match. */
+    @EventListener
+    public void onMatchScored(MatchScoredEvent event) {
+        if (event.groupId() == null) return;
+        applySide(event, event.teamOneIds(), event.teamOneScore(), event.teamTwoScore(),
+                event.previousTeamOneScore(), event.previousTeamTwoScore());
+        applySide(event, event.teamTwoIds(), event.teamTwoScore(), event.teamOneScore(),
+                event.previousTeamTwoScore(), event.previousTeamOneScore());
+    }
+
+    /** Builds the table on first start against an existing database. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        boolean empty = !Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM player_stats)", Boolean.class));
+        boolean hasScores = Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM matches WHERE team_one_score IS NOT NULL)", Boolean.class));
+        if (empty && hasScores) {
+            rebuildAll();
+        }
+    }
+
+    public StatsRebuildResponse rebuildAll() {
+        return rebuildGroups(groupRepository.findAllIds());
+    }
+
+    /** Recomputes the rows of the given groups, {@value #REBUILD_CHUNK_SIZE} groups per transaction. */
+    public StatsRebuildResponse rebuildGroups(Collection<Long> groupIds) {
+        long start = System.nanoTime();
+        List<Long> ids = List.copyOf(groupIds);
+        int rows = 0;
+        for (int from = 0; from < ids.size(); from += REBUILD_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + REBUILD_CHUNK_SIZE, ids.size()));
+            Integer written = txTemplate.execute(status -> {
+                playerStatsRepository.deleteByGroupIds(chunk);
+                return playerStatsRepository.insertAggregatedForGroups(chunk);
+            });
+            rows += written != null ? written : 0;
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        log.info("Rebuilt player stats for {} groups ({} rows) in {} ms", ids.size(), rows, elapsedMs);
+        eventPublisher.publishEvent(new StatsRebuiltEvent(ids));
+        return new StatsRebuildResponse(ids.size(), rows, elapsedMs);
+    }
+
+    private void applySide(MatchScoredEvent event, List<Long> players, int pointsFor, int pointsAgainst,
+                           Integer previousFor, Integer previousAgainst) {
+        long games = 1;
+        long wins = pointsFor > pointsAgainst ? 1 : 0;
+        long losses = pointsFor < pointsAgainst ? 1 : 0;
+        long pf = pointsFor;
+        long pa = pointsAgainst;
+        if (previousFor != null && previousAgainst != null) {
+            games = 0;
+            wins -= previousFor > previousAgainst ? 1 : 0;
+            losses -= previousFor < previousAgainst ? 1 : 0;
+            pf -= previousFor;
+            pa -= previousAgainst;
+        }
+        for (Long userId : players) {
+            playerStatsRepository.applyDelta(event.groupId(), userId, games, wins, losses, pf, pa);
+        }
+    }
+
+    private PlayerStatsResponse toResponse(PlayerStatsView v, Long groupId) {
+        double winPercentage = v.getGamesPlayed() == 0 ? 0.0 : 100.0 * v.getWins() / v.getGamesPlayed();
+        return new PlayerStatsResponse(
+                v.getUserId(), v.getName(), groupId,
+                v.getGamesPlayed(), v.getWins(), v.getLosses(), winPercentage,
+                v.getPointsFor(), v.getPointsAgainst(), v.getPointsFor() - v.getPointsAgainst());
+    }
+}
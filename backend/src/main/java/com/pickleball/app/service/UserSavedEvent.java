@@ -0,0 +1,16 @@
+package com.pickleball.app.service;
+
+import com.pickleball.app.entity.Role;
+import com.pickleball.app.entity.User;
+
+/**
+ * Published when a user is created or their searchable details change (registration, profile
+ * update, guest creation). Carries a copy of the fields so listeners never touch the entity.
+ */
+public record UserSavedEvent(Long userId, String email, String name, String photoUrl, boolean guest) {
+
+    public static UserSavedEvent of(User user) {
+        return new UserSavedEvent(user.getId(), user.getEmail(), user.getName(), user.getPhotoUrl(),
+                user.getRole() == Role.GUEST);
+    }
+}
@@ -0,0 +1,259 @@
+package com.pickleball.app.service;
+
+import com.pickleball.app.dto.GroupMemberResponse;
+import com.pickleball.app.entity.Role;
+import com.pickleball.app.repository.GroupRepository;
+import com.pickleball.app.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory typeahead over user names and emails, for the user search and the group-member
+ * search behind CreateMatchForm. Queries of three or more characters are substring matches found
+ * through a trigram index; shorter ones match the start of a word (name words, email parts).
+ * Results are ranked — exact, then prefix, then word start, then anywhere — and capped.
+ *
+ * <p>The index is built from the database on startup and kept current from {@link UserSavedEvent}
+ * and {@link GroupMembershipChangedEvent}, both applied after commit. Until the first build
+ * finishes, searches fall back to the database.
+ */
+@Service
+public class UserSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(UserSearchIndex.class);
+
+    public static final int DEFAULT_LIMIT = 20;
+
+    private static final int GRAM = 3;
+
+    private final UserRepository userRepository;
+    private final GroupRepository groupRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Map<Long, Doc> docs = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> trigrams = new ConcurrentHashMap<>();
+    private final NavigableMap<String, Set<Long>> words = new ConcurrentSkipListMap<>();
+    private final Map<Long, Set<Long>> groupMembers = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    public UserSearchIndex(UserRepository userRepository,
+                           GroupRepository groupRepository,
+                           JdbcTemplate jdbcTemplate) {
+        this.userRepository = userRepository;
+        this.groupRepository = groupRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    private record Doc(long id, String email, String name, String photoUrl, boolean guest,
+                       String emailKey, String nameKey) {
+
+        GroupMemberResponse toResponse() {
+            return new GroupMemberResponse(id, email, name, photoUrl, guest);
+        }
+
+        String sortKey() {
+            return nameKey.isEmpty() ? emailKey : nameKey;
+        }
+    }
+
+    private record Hit(Doc doc, int rank) {}
+
+    private static final Comparator<Hit> BEST_FIRST = Comparator.comparingInt(Hit::rank)
+            .thenComparing(h -> h.doc().sortKey())
+            .thenComparingLong(h -> h.doc().id());
+
+    /** Registered users (guests excluded) whose name or email matches {@code query}. */
+    public List<GroupMemberResponse> searchUsers(String query, int limit) {
+        if (!ready) {
+            return userRepository.searchUsers(query.trim(), PageRequest.of(0, limit)).stream()
+                    .map(u -> new GroupMemberResponse(u.getId(), u.getEmail(), u.getName(), u.getPhotoUrl(), false))
+                    .toList();
+        }
+        return search(query, null, false, limit);
+    }
+
+    /** Members of the group, guests included, whose name or email matches {@code query}. */
+    public List<GroupMemberResponse> searchMembers(Long groupId, String query, int limit) {
+        if (!ready) {
+            return groupRepository.searchMembers(groupId, query.trim(), PageRequest.of(0, limit)).stream()
+                    .map(u -> new GroupMemberResponse(u.getId(), u.getEmail(), u.getName(), u.getPhotoUrl(),
+                            u.getRole() == Role.GUEST))
+                    .toList();
+        }
+        return search(query, groupMembers.getOrDefault(groupId, Set.of()), true, limit);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserSaved(UserSavedEvent event) {
+        put(new Doc(event.userId(), event.email(), event.name(), event.photoUrl(), event.guest(),
+                key(event.email()), key(event.name())), true);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMembershipChanged(GroupMembershipChangedEvent event) {
+        if (event.isGroupDeleted()) {
+            groupMembers.remove(event.groupId());
+        } else if (event.added()) {
+            groupMembers.computeIfAbsent(event.groupId(), k -> ConcurrentHashMap.newKeySet()).add(event.userId());
+        } else {
+            Set<Long> members = groupMembers.get(event.groupId());
+            if (members != null) members.remove(event.userId());
+        }
+    }
+
+    /**
+     * Loads every user and membership. Rows already put by an event are left alone, since an
+     * event is never older than the snapshot this reads.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        jdbcTemplate.query("SELECT id, email, name, photo_url, role FROM users", rs -> {
+            String email = rs.getString(2);
+            String name = rs.getString(3);
+            put(new Doc(rs.getLong(1), email, name, rs.getString(4), "GUEST".equals(rs.getString(5)),
+                    key(email), key(name)), false);
+        });
+        jdbcTemplate.query("SELECT group_id, user_id FROM group_members", rs -> {
+            groupMembers.computeIfAbsent(rs.getLong(1), k -> ConcurrentHashMap.newKeySet()).add(rs.getLong(2));
+        });
+        ready = true;
+        log.info("Built user search index ({} users, {} trigrams) in {} ms",
+                docs.size(), trigrams.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private List<GroupMemberResponse> search(String query, Set<Long> within, boolean includeGuests, int limit) {
+        String q = key(query);
+        if (q.isEmpty()) return List.of();
+
+        Collection<Long> candidates = q.length() >= GRAM ? trigramCandidates(q) : wordCandidates(q);
+        if (within != null && within.size() < candidates.size()) {
+            candidates = within;
+        }
+
+        // Worst-first heap holding the best `limit` hits so far
+        PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, BEST_FIRST.reversed());
+        for (Long id : candidates) {
+            if (within != null && !within.contains(id)) continue;
+            Doc doc = docs.get(id);
+            if (doc == null || (doc.guest() && !includeGuests)) continue;
+            int rank = rank(doc, q);
+            if (rank < 0) continue;
+            top.add(new Hit(doc, rank));
+            if (top.size() > limit) top.poll();
+        }
+        List<Hit> hits = new ArrayList<>(top);
+        hits.sort(BEST_FIRST);
+        return hits.stream().map(h -> h.doc().toResponse()).toList();
+    }
+
+    /** Users holding every trigram of the query; the caller still checks the actual match. */
+    private Collection<Long> trigramCandidates(String q) {
+        Set<Long> smallest = null;
+        for (String gram : grams(q)) {
+            Set<Long> posting = trigrams.get(gram);
+            if (posting == null) return List.of();
+            if (smallest == null || posting.size() < smallest.size()) smallest = posting;
+        }
+        return smallest != null ? smallest : List.of();
+    }
+
+    private Collection<Long> wordCandidates(String q) {
+        Set<Long> ids = new HashSet<>();
+        for (Set<Long> posting : words.subMap(q, true, q + Character.MAX_VALUE, false).values()) {
+            ids.addAll(posting);
+        }
+        return ids;
+    }
+
+    /** Lower is better; -1 when the query does not match at all. */
+    private static int rank(Doc doc, String q) {
+        if (doc.nameKey().equals(q) || doc.emailKey().equals(q)) return 0;
+        if (doc.nameKey().startsWith(q)) return 1;
+        if (doc.emailKey().startsWith(q)) return 2;
+        if (startsWord(doc.nameKey(), q) || startsWord(doc.emailKey(), q)) return 3;
+        if (doc.nameKey().contains(q) || doc.emailKey().contains(q)) return 4;
+        return -1;
+    }
+
+    private static boolean startsWord(String text, String q) {
+        for (String word : words(text)) {
+            if (word.startsWith(q)) return true;
+        }
+        return false;
+    }
+
+    private void put(Doc doc, boolean replace) {
+        Doc previous = replace ? docs.put(doc.id(), doc) : docs.putIfAbsent(doc.id(), doc);
+        if (!replace && previous != null) return;
+        if (previous != null) {
+            Set<String> stale = new HashSet<>(terms(previous, true));
+            stale.removeAll(terms(doc, true));
+            stale.forEach(g -> removePosting(trigrams, g, doc.id()));
+            Set<String> staleWords = new HashSet<>(terms(previous, false));
+            staleWords.removeAll(terms(doc, false));
+            staleWords.forEach(w -> removePosting(words, w, doc.id()));
+        }
+        terms(doc, true).forEach(g -> trigrams.computeIfAbsent(g, k -> ConcurrentHashMap.newKeySet()).add(doc.id()));
+        terms(doc, false).forEach(w -> words.computeIfAbsent(w, k -> ConcurrentHashMap.newKeySet()).add(doc.id()));
+    }
+
+    private static void removePosting(Map<String, Set<Long>> index, String term, long id) {
+        index.computeIfPresent(term, (k, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    /** Trigrams ({@code grams} true) or words of the name and email. */
+    private static Set<String> terms(Doc doc, boolean grams) {
+        Set<String> terms = new HashSet<>();
+        for (String text : List.of(doc.nameKey(), doc.emailKey())) {
+            if (grams) terms.addAll(grams(text));
+            else terms.addAll(words(text));
+        }
+        return terms;
+    }
+
+    private static List<String> grams(String text) {
+        if (text.length() < GRAM) return List.of();
+        List<String> grams = new ArrayList<>(text.length() - GRAM + 1);
+        for (int i = 0; i + GRAM <= text.length(); i++) grams.add(text.substring(i, i + GRAM));
+        return grams;
+    }
+
+    /** The whole text plus its parts split on spaces and email punctuation. */
+    private static List<String> words(String text) {
+        if (text.isEmpty()) return Collections.emptyList();
+        List<String> words = new ArrayList<>();
+        words.add(text);
+        for (String w : text.split("[\\s@._+-]+")) {
+            if (!w.isEmpty() && !w.equals(text)) words.add(w);
+        }
+        return words;
+    }
+
+    private static String key(String s) {
+        return s == null ? "" : s.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,33 @@
+package com.pickleball.app.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+/** Byte-exact NDJSON output: one object per line, no separator between lines but the newline. */
+class MatchExportServiceTest {
+
+    @Test
+    void ndjsonRowsAreNewlineSeparatedWithNoLeadingSpace() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JsonGenerator gen = MatchExportService.ndjsonGenerator(new ObjectMapper(), out);
+        MatchExportService.writeNdjsonRow(gen, 1, "SINGLES", "3", "4", 11, 7,
+                LocalDateTime.of(2024, 5, 1, 18, 30));
+        MatchExportService.writeNdjsonRow(gen, 2, "DOUBLES", "3;5", "4;6", null, null,
+                LocalDateTime.of(2024, 5, 2, 9, 0));
+        gen.flush();
+
+        String expected = """
+                {"id":1,"matchType":"SINGLES","teamOne":[3],"teamTwo":[4],"teamOneScore":11,"teamTwoScore":7,"matchDate":"2024-05-01T18:30"}
+                {"id":2,"matchType":"DOUBLES","teamOne":[3,5],"teamTwo":[4,6],"teamOneScore":null,"teamTwoScore":null,"matchDate":"2024-05-02T09:00"}
+                """;
+        assertArrayEquals(expected.getBytes(StandardCharsets.UTF_8), out.toByteArray());
+    }
+}
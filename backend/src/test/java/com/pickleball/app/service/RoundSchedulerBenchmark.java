@@ -0,0 +1,33 @@
+package com.pickleball.app.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static com.pickleball.app.service.RoundSchedulerTest.COURTS;
+import static com.pickleball.app.service.RoundSchedulerTest.ROUNDS;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Timing check for the open-play optimizer: a 200-player, 10-round plan on 10 courts must stay well
+ * under a second. Wall-clock budgets are unreliable on shared CI machines, so this only runs with
+ * {@code mvn test -Pbenchmark}. The best of several runs is measured so JIT warm-up does not count.
+ */
+@Tag("benchmark")
+class RoundSchedulerBenchmark {
+
+    private static final int RUNS = 5;
+    private static final long BUDGET_MS = 500;
+
+    @Test
+    void plansTwoHundredPlayersForTenRoundsWithinBudget() {
+        double[] ratings = RoundSchedulerTest.ratings();
+        long bestNanos = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            new RoundScheduler(ratings, run).schedule(ROUNDS, COURTS);
+            bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+        }
+        long bestMs = bestNanos / 1_000_000;
+        assertTrue(bestMs < BUDGET_MS, "planning took " + bestMs + " ms (best of " + RUNS + "), budget " + BUDGET_MS + " ms");
+    }
+}
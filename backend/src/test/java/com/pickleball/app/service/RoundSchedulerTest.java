@@ -0,0 +1,67 @@
+package com.pickleball.app.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Invariants of an open-play plan at the size organizers run: 200 players, 10 rounds on 10 courts.
+ * The timing side lives in {@link RoundSchedulerBenchmark}.
+ */
+class RoundSchedulerTest {
+
+    static final int PLAYERS = 200;
+    static final int ROUNDS = 10;
+    static final int COURTS = 10;
+
+    static double[] ratings() {
+        double[] ratings = new double[PLAYERS];
+        Random random = new Random(42);
+        for (int i = 0; i < PLAYERS; i++) ratings[i] = 1300 + random.nextDouble() * 400;
+        return ratings;
+    }
+
+    @Test
+    void planKeepsRoundAndSitOutInvariants() {
+        RoundScheduler scheduler = new RoundScheduler(ratings(), 7);
+        List<RoundScheduler.Round> plan = scheduler.schedule(ROUNDS, COURTS);
+
+        assertEquals(ROUNDS, plan.size());
+        for (RoundScheduler.Round round : plan) {
+            assertEquals(COURTS, round.courts().length);
+            Set<Integer> seen = new HashSet<>();
+            for (int[] court : round.courts()) {
+                assertEquals(4, court.length, "each court holds two teams of two");
+                for (int p : court) assertTrue(seen.add(p), "player " + p + " scheduled twice in one round");
+            }
+            for (int p : round.sittingOut()) assertTrue(seen.add(p), "player " + p + " both plays and sits out");
+            assertEquals(PLAYERS, seen.size());
+        }
+
+        int min = Integer.MAX_VALUE;
+        int max = 0;
+        for (int p = 0; p < PLAYERS; p++) {
+            min = Math.min(min, scheduler.sitOuts(p));
+            max = Math.max(max, scheduler.sitOuts(p));
+        }
+        assertTrue(max - min <= 1, "sit-outs range from " + min + " to " + max);
+    }
+
+    @Test
+    void sameSeedGivesSamePlan() {
+        List<RoundScheduler.Round> first = new RoundScheduler(ratings(), 11).schedule(ROUNDS, COURTS);
+        List<RoundScheduler.Round> second = new RoundScheduler(ratings(), 11).schedule(ROUNDS, COURTS);
+        for (int r = 0; r < ROUNDS; r++) {
+            for (int c = 0; c < COURTS; c++) {
+                assertArrayEquals(first.get(r).courts()[c], second.get(r).courts()[c]);
+            }
+        }
+    }
+}
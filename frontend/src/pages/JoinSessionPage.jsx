@@ -21,6 +21,32 @@ export default function JoinSessionPage() {
     if (urlCode) lookupSession(urlCode.toUpperCase());
   }, [urlCode]); // eslint-disable-line
 
+  // Live participant list: the stream sends the current list, then each join and the close
+  const streamCode = session?.status === "ACTIVE" ? session.code : null;
+  useEffect(() => {
+    if (!streamCode) return;
+    const source = new EventSource(
+      `${import.meta.env.VITE_API_URL ?? ""}/api/sessions/${streamCode}/events`,
+    );
+    source.addEventListener("participants", (e) => {
+      setParticipants(JSON.parse(e.data));
+    });
+    source.addEventListener("join", (e) => {
+      addParticipant(JSON.parse(e.data));
+    });
+    source.addEventListener("close", (e) => {
+      setSession(JSON.parse(e.data));
+      source.close();
+    });
+    return () => source.close();
+  }, [streamCode]);
+
+  const addParticipant = (participant) => {
+    setParticipants((prev) =>
+      prev.some((p) => p.id === participant.id) ? prev : [...prev, participant],
+    );
+  };
+
   const lookupSession = async (lookupCode) => {
     const trimmed = (lookupCode ?? code).trim().toUpperCase();
     if (!trimmed) return;
@@ -31,7 +57,8 @@ export default function JoinSessionPage() {
     try {
       const { data } = await api.get(`/api/sessions/${trimmed}`);
       setSession(data);
-      loadParticipants(trimmed);
+      // Open sessions get their participants from the event stream
+      if (data.status !== "ACTIVE") loadParticipants(trimmed);
     } catch (err) {
       setSessionError(
         err.response?.status === 404
@@ -65,11 +92,11 @@ export default function JoinSessionPage() {
     setJoining(true);
     setJoinError("");
     try {
-      await api.post(`/api/sessions/${session.code}/join`, {
+      const { data } = await api.post(`/api/sessions/${session.code}/join`, {
         playerName: playerName.trim(),
       });
       setJoined(true);
-      loadParticipants(session.code);
+      addParticipant(data);
     } catch (err) {
       setJoinError(
         err.response?.status === 410
@@ -57,6 +57,8 @@ export default function MatchDashboard() {
   const email = localStorage.getItem("email") ?? "";
 
   const [matches, setMatches] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [loading, setLoading] = useState(true);
   const [fetchError, setFetchError] = useState("");
   const [groupId, setGroupId] = useState("");
@@ -70,6 +72,8 @@ export default function MatchDashboard() {
   // Members
   const [groupMembers, setGroupMembers] = useState([]);
   const [membersLoading, setMembersLoading] = useState(false);
+  const [membersCursor, setMembersCursor] = useState(null);
+  const [loadingMoreMembers, setLoadingMoreMembers] = useState(false);
   const [memberEmail, setMemberEmail] = useState("");
   const [addingMember, setAddingMember] = useState(false);
   const [addMemberError, setAddMemberError] = useState("");
@@ -109,19 +113,38 @@ export default function MatchDashboard() {
   const fetchGroupMembers = useCallback(async (gId) => {
     if (!gId) {
       setGroupMembers([]);
+      setMembersCursor(null);
       return;
     }
     try {
       setMembersLoading(true);
       const { data } = await api.get(`/api/groups/${gId}/members`);
-      setGroupMembers(data);
+      setGroupMembers(data.items);
+      setMembersCursor(data.nextCursor);
     } catch {
       setGroupMembers([]);
+      setMembersCursor(null);
     } finally {
       setMembersLoading(false);
     }
   }, []);
 
+  const fetchMoreMembers = async () => {
+    if (!membersCursor) return;
+    try {
+      setLoadingMoreMembers(true);
+      const { data } = await api.get(`/api/groups/${groupId}/members`, {
+        params: { cursor: membersCursor },
+      });
+      setGroupMembers((prev) => [...prev, ...data.items]);
+      setMembersCursor(data.nextCursor);
+    } catch {
+      // keep what is already shown
+    } finally {
+      setLoadingMoreMembers(false);
+    }
+  };
+
   useEffect(() => {
     fetchMatches();
     fetchMyGroups();
@@ -206,7 +229,8 @@ export default function MatchDashboard() {
       setLoading(true);
       setFetchError("");
       const { data } = await api.get("/api/matches");
-      setMatches(data);
+      setMatches(data.items);
+      setNextCursor(data.nextCursor);
     } catch {
       setFetchError("Failed to load matches.");
     } finally {
@@ -214,6 +238,22 @@ export default function MatchDashboard() {
     }
   };
 
+  const fetchMoreMatches = async () => {
+    if (!nextCursor) return;
+    try {
+      setLoadingMore(true);
+      const { data } = await api.get("/api/matches", {
+        params: { cursor: nextCursor },
+      });
+      setMatches((prev) => [...prev, ...data.items]);
+      setNextCursor(data.nextCursor);
+    } catch {
+      setFetchError("Failed to load matches.");
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const toggleScore = (id) =>
     setScoreMap((prev) => ({
       ...prev,
@@ -259,7 +299,8 @@ export default function MatchDashboard() {
 
   const handleAddMember = async (e) => {
     e.preventDefault();
-    const em = memberEmail.trim();
+    const emails = memberEmail.split(/[\s,;]+/).filter(Boolean);
+    const em = emails[0];
     if (!em) {
       setAddMemberError("Enter a valid email.");
       return;
@@ -272,6 +313,20 @@ export default function MatchDashboard() {
       setAddingMember(true);
       setAddMemberError("");
       setAddMemberSuccess("");
+      if (emails.length > 1) {
+        const { data } = await api.post(`/api/groups/${groupId}/add-members`, { emails });
+        setMemberEmail(data.unknownEmails.join(", "));
+        setAddMemberSuccess(
+          `${data.added.length} added` +
+            (data.alreadyMembers.length ? `, ${data.alreadyMembers.length} already members` : "") +
+            ".",
+        );
+        if (data.unknownEmails.length) {
+          setAddMemberError(`No user found for: ${data.unknownEmails.join(", ")}`);
+        }
+        await fetchGroupMembers(groupId);
+        return;
+      }
       await api.post(`/api/groups/${groupId}/add-member`, { email: em });
       setMemberEmail("");
       setAddMemberSuccess(`${em} added to the group!`);
@@ -297,6 +352,7 @@ export default function MatchDashboard() {
       setGroupId("");
       setGroups((prev) => prev.filter((g) => String(g.id) !== String(groupId)));
       setGroupMembers([]);
+      setMembersCursor(null);
     } catch {
       setDeleteGroupError("Failed to delete group.");
     } finally {
@@ -405,15 +461,24 @@ export default function MatchDashboard() {
 
   const handleAddGuest = async (e) => {
     e.preventDefault();
-    const name = guestName.trim();
+    const names = guestName.split(",").map((n) => n.trim()).filter(Boolean);
+    const name = names[0];
     if (!name || !groupId) return;
     setAddingGuest(true);
     setAddGuestError("");
     setAddGuestSuccess("");
     try {
-      await api.post(`/api/groups/${groupId}/add-guest`, { displayName: name });
+      if (names.length > 1) {
+        await api.post(`/api/groups/${groupId}/add-guests`, { displayNames: names });
+      } else {
+        await api.post(`/api/groups/${groupId}/add-guest`, { displayName: name });
+      }
       setGuestName("");
-      setAddGuestSuccess(`${name} added as a guest player!`);
+      setAddGuestSuccess(
+        names.length > 1
+          ? `${names.length} guest players added!`
+          : `${name} added as a guest player!`,
+      );
       await fetchGroupMembers(groupId);
     } catch (err) {
       setAddGuestError(err.response?.data?.message || "Could not add guest.");
@@ -689,8 +754,9 @@ export default function MatchDashboard() {
                 <span className="text-pickle-green">{selectedGroup.name}</span>
               </h2>
               <span className="text-xs text-gray-400 bg-gray-100 px-2.5 py-1 rounded-full">
-                {groupMembers.length} member
-                {groupMembers.length !== 1 ? "s" : ""}
+                {groupMembers.length}
+                {membersCursor ? "+" : ""} member
+                {groupMembers.length !== 1 || membersCursor ? "s" : ""}
               </span>
             </div>
 
@@ -760,13 +826,14 @@ export default function MatchDashboard() {
               <div className="flex flex-col sm:flex-row gap-2">
                 <input
                   type="email"
+                  multiple
                   value={memberEmail}
                   onChange={(e) => {
                     setMemberEmail(e.target.value);
                     if (addMemberError) setAddMemberError("");
                     if (addMemberSuccess) setAddMemberSuccess("");
                   }}
-                  placeholder="member@example.com"
+                  placeholder="member@example.com, another@example.com"
                   className="w-full sm:w-80 px-3.5 py-2.5 border border-gray-300 rounded-xl text-sm text-gray-800 placeholder-gray-400 focus:outline-none focus:ring-2 focus:ring-pickle-green focus:border-transparent transition"
                 />
                 <button
@@ -806,7 +873,7 @@ export default function MatchDashboard() {
                     if (addGuestError) setAddGuestError("");
                     if (addGuestSuccess) setAddGuestSuccess("");
                   }}
-                  placeholder="Guest's name…"
+                  placeholder="Guest's name (or several, comma-separated)…"
                   className="w-full sm:w-80 px-3.5 py-2.5 border border-dashed border-gray-300 rounded-xl text-sm text-gray-800 placeholder-gray-400 focus:outline-none focus:ring-2 focus:ring-pickle-green focus:border-transparent transition bg-gray-50"
                 />
                 <button
@@ -895,6 +962,17 @@ export default function MatchDashboard() {
                 })}
               </ul>
             )}
+            {!membersLoading && membersCursor && (
+              <div className="text-center">
+                <button
+                  onClick={fetchMoreMembers}
+                  disabled={loadingMoreMembers}
+                  className="px-4 py-2 text-sm font-medium border border-gray-300 rounded-xl text-gray-700 hover:bg-gray-50 disabled:opacity-50 transition-colors"
+                >
+                  {loadingMoreMembers ? "Loading…" : "Load more members"}
+                </button>
+              </div>
+            )}
             {!hasEnoughMembers && groupMembers.length > 0 && (
               <p className="text-xs text-amber-700 bg-amber-50 border border-amber-200 rounded-xl px-3.5 py-2">
                 Add {2 - groupMembers.length} more member
@@ -1043,6 +1121,18 @@ export default function MatchDashboard() {
               })}
             </div>
           )}
+
+          {!loading && !fetchError && nextCursor && (
+            <div className="mt-4 text-center">
+              <button
+                onClick={fetchMoreMatches}
+                disabled={loadingMore}
+                className="px-4 py-2 text-sm font-medium border border-gray-300 rounded-xl text-gray-700 hover:bg-gray-50 disabled:opacity-50 transition-colors"
+              >
+                {loadingMore ? "Loading…" : "Load more"}
+              </button>
+            </div>
+          )}
         </section>
       </main>
     </div>